@@ -0,0 +1,137 @@
+package api.customer.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga de concurrencia fija contra una instancia en ejecución de la aplicación.
+ * Cada cliente es un hilo virtual que repite la petición en cuanto recibe la respuesta
+ * anterior (lazo cerrado), durante un calentamiento y una medición. Al final informa el
+ * rendimiento y los percentiles de latencia de la medición.
+ * Para comparar los modos de ejecución, se lanza contra la aplicación arrancada con
+ * `customers.threads=platform` y después con `customers.threads=virtual`, con la misma
+ * concurrencia; la concurrencia debe superar el tamaño del pool de trabajadores para que
+ * la diferencia se note. Del mismo modo se comparan los repositorios, con la aplicación
+ * compilada con `customers.repository=jdbc` y con `customers.repository=reactive`.
+ *
+ * Argumentos: `<url> [concurrencia=400] [segundos=30] [calentamiento=10]`.
+ */
+public class CustomerLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: CustomerLoadTest <url> [concurrency] [seconds] [warmupSeconds]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        Duration measurement = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10);
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+
+        System.out.printf("Load test: %s, %d clients, %ds warm-up, %ds measurement%n",
+            uri, concurrency, warmup.toSeconds(), measurement.toSeconds());
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureUntil = measureFrom + measurement.toNanos();
+        LongAdder errors = new LongAdder();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> run(client, request, measureFrom, measureUntil, errors)));
+            }
+
+            // Se unen las latencias medidas por todos los clientes.
+            long[][] perWorker = new long[concurrency][];
+            int total = 0;
+            for (int i = 0; i < concurrency; i++) {
+                perWorker[i] = workers.get(i).get();
+                total += perWorker[i].length;
+            }
+            long[] latencies = new long[total];
+            int offset = 0;
+            for (long[] worker : perWorker) {
+                System.arraycopy(worker, 0, latencies, offset, worker.length);
+                offset += worker.length;
+            }
+            report(latencies, errors.sum(), measurement);
+        }
+    }
+
+    /**
+     * Repite la petición hasta el final de la medición y devuelve las latencias, en
+     * nanosegundos, de las respuestas correctas recibidas durante la medición.
+     */
+    private static long[] run(HttpClient client, HttpRequest request, long measureFrom, long measureUntil,
+                              LongAdder errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            boolean measured = now >= measureFrom;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long elapsed = System.nanoTime() - now;
+                if (response.statusCode() >= 400) {
+                    if (measured) {
+                        errors.increment();
+                    }
+                    continue;
+                }
+                if (measured) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = elapsed;
+                }
+            } catch (Exception e) {
+                if (measured) {
+                    errors.increment();
+                }
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static void report(long[] latencies, long errors, Duration measurement) {
+        Arrays.sort(latencies);
+        double seconds = measurement.toNanos() / 1e9;
+        System.out.printf("Requests:   %d ok, %d errors%n", latencies.length, errors);
+        System.out.printf("Throughput: %.1f req/s%n", latencies.length / seconds);
+        if (latencies.length == 0) {
+            return;
+        }
+        System.out.printf("Latency:    p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+            percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+            percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e6);
+    }
+
+    /**
+     * Percentil, en milisegundos, de latencias ordenadas (método del rango más cercano).
+     */
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,99 @@
+package api.customer.benchmark;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import api.customer.models.Customer;
+
+/**
+ * Compara la serialización de la respuesta de `GET /customers` antes y después de usar
+ * el ObjectMapper compartido:
+ * - `perRequestMapperToString`: un ObjectMapper nuevo por petición que genera un `String`
+ *   intermedio, que después se codifica en bytes para escribirlo en la respuesta.
+ * - `sharedMapperToStream`: un único ObjectMapper que escribe directamente en el flujo de salida.
+ * Ejecutar con `./mvnw -Pbenchmark compile exec:exec@run-benchmarks`; el perfilador `gc`
+ * informa de los bytes asignados por operación (`gc.alloc.rate.norm`).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int customerCount; // Número de clientes en la respuesta
+
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+    private List<Customer> customers;
+    private CountingOutputStream response;
+
+    @Setup
+    public void setUp() {
+        customers = new ArrayList<>(customerCount);
+        for (int i = 1; i <= customerCount; i++) {
+            Customer customer = new Customer();
+            customer.setCustomerId(i);
+            customer.setFirstName("John");
+            customer.setMiddleName("Michael");
+            customer.setLastName("Doe");
+            customer.setSecondLastName("Smith");
+            customer.setEmail("john.doe" + i + "@example.com");
+            customer.setAddress("123 Main St, Springfield");
+            customer.setPhone("8095551" + String.format("%03d", i % 1000));
+            customer.setCountry((short) 840);
+            customer.setDemonym("American");
+            customer.setDisable(false);
+            customers.add(customer);
+        }
+        response = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public long perRequestMapperToString() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(customers);
+        response.write(json.getBytes(StandardCharsets.UTF_8));
+        return response.count;
+    }
+
+    @Benchmark
+    public long sharedMapperToStream() throws Exception {
+        sharedMapper.writeValue(response, customers);
+        return response.count;
+    }
+
+    /**
+     * Flujo de salida que solo cuenta los bytes, como sustituto de la conexión HTTP.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
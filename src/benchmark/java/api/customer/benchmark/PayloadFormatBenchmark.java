@@ -0,0 +1,108 @@
+package api.customer.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import api.customer.models.Customer;
+import api.customer.models.PayloadFormat;
+
+/**
+ * Compara los formatos de `PayloadFormat` para una página de clientes:
+ * - `encode`: serializar la lista a bytes, como hace el servidor.
+ * - `decode`: interpretar esos bytes, como hace un servicio que llama a la API.
+ * - `encodeGzip`: serializar y comprimir con gzip, como un listado comprimido.
+ * Al preparar cada combinación se imprime el tamaño del cuerpo sin comprimir y comprimido.
+ * Ejecutar con `./mvnw -Pbenchmark compile exec:exec@run-benchmarks -Dbenchmark.includes=PayloadFormat`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<Customer>> CUSTOMER_LIST = new TypeReference<>() { };
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    PayloadFormat format; // Formato del cuerpo
+
+    @Param({"50", "500"})
+    int customerCount; // Número de clientes en la página
+
+    private ObjectMapper mapper;
+    private List<Customer> customers;
+    private byte[] encoded; // La página ya serializada en el formato, para `decode`
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case JSON -> new ObjectMapper();
+            case CBOR -> new ObjectMapper(new CBORFactory());
+            case SMILE -> new ObjectMapper(new SmileFactory());
+        };
+        customers = new ArrayList<>(customerCount);
+        for (int i = 1; i <= customerCount; i++) {
+            Customer customer = new Customer();
+            customer.setCustomerId(i);
+            customer.setFirstName("John");
+            customer.setMiddleName("Michael");
+            customer.setLastName("Doe");
+            customer.setSecondLastName("Smith");
+            customer.setEmail("john.doe" + i + "@example.com");
+            customer.setAddress("123 Main St, Springfield");
+            customer.setPhone("8095551" + String.format("%03d", i % 1000));
+            customer.setCountry((short) 840);
+            customer.setDemonym("American");
+            customer.setDisable(false);
+            customers.add(customer);
+        }
+        encoded = mapper.writeValueAsBytes(customers);
+        System.out.printf("%n%s, %d customers: %d bytes, %d bytes gzipped%n",
+            format, customerCount, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(customers);
+    }
+
+    @Benchmark
+    public List<Customer> decode() throws IOException {
+        return mapper.readValue(encoded, CUSTOMER_LIST);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(customers));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,177 @@
+package api.customer.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtro de Bloom concurrente sobre cadenas de texto.
+ * Responde si un valor "no está" con certeza o "puede estar" con una probabilidad de falso
+ * positivo acotada; nunca da falsos negativos. Los bits se guardan en un `AtomicLongArray`,
+ * por lo que varios hilos pueden añadir y consultar a la vez sin bloqueos.
+ * Los valores no se pueden eliminar.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder positives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Crea un filtro dimensionado para un número de valores y una tasa de falsos positivos.
+     *
+     * @param expectedInsertions Número de valores previsto.
+     * @param falsePositiveRate  Probabilidad de falso positivo deseada con ese número de valores.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be greater than 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        // m = -n ln(p) / ln(2)^2 bits y k = m / n ln(2) funciones hash
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = Math.toIntExact(Math.max(1, (bits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Añade un valor al filtro.
+     *
+     * @param value Valor a añadir.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Consulta si un valor puede estar en el filtro.
+     *
+     * @param value Valor a consultar.
+     * @return `false` si el valor no está con certeza; `true` si puede estar.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            if (!getBit(index(h1 + i * h2))) {
+                negatives.increment();
+                return false;
+            }
+        }
+        positives.increment();
+        return true;
+    }
+
+    /**
+     * Registra que un "puede estar" resultó no estar al consultarlo en la fuente original,
+     * para medir la tasa de falsos positivos observada.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * @return Probabilidad de falso positivo esperada con los valores añadidos hasta ahora:
+     *         `(1 - e^(-k n / m))^k`.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions.sum() / bitCount), hashCount);
+    }
+
+    /**
+     * @return Tasa de falsos positivos observada: falsos positivos entre consultas que
+     *         resultaron no estar; `0` si aún no hay consultas.
+     */
+    public double observedFalsePositiveRate() {
+        long falsePositiveCount = falsePositives.sum();
+        long absent = negatives.sum() + falsePositiveCount;
+        return absent == 0 ? 0 : (double) falsePositiveCount / absent;
+    }
+
+    /**
+     * @return Memoria ocupada por los bits del filtro, en bytes.
+     */
+    public long memoryBytes() {
+        return bitCount / 8;
+    }
+
+    /**
+     * Registra las métricas del filtro: consultas por resultado, falsos positivos,
+     * tasas de falsos positivos esperada y observada, y memoria ocupada.
+     *
+     * @param registry Registro de métricas.
+     * @param name     Nombre del filtro, usado como etiqueta `filter`.
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("bloom.checks", negatives, LongAdder::sum)
+            .tag("filter", name).tag("result", "absent").register(registry);
+        FunctionCounter.builder("bloom.checks", positives, LongAdder::sum)
+            .tag("filter", name).tag("result", "maybe").register(registry);
+        FunctionCounter.builder("bloom.false.positives", falsePositives, LongAdder::sum)
+            .tag("filter", name).register(registry);
+        Gauge.builder("bloom.fpp.expected", this, BloomFilter::expectedFalsePositiveRate)
+            .tag("filter", name).register(registry);
+        Gauge.builder("bloom.fpp.observed", this, BloomFilter::observedFalsePositiveRate)
+            .tag("filter", name).register(registry);
+        Gauge.builder("bloom.memory", this, BloomFilter::memoryBytes)
+            .tag("filter", name).baseUnit("bytes").register(registry);
+    }
+
+    private long index(int combinedHash) {
+        // Se fuerza un valor positivo antes de reducirlo al tamaño del filtro.
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a con mezcla final de MurmurHash3) de los bytes UTF-8 del valor.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,435 @@
+package api.customer.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caché en memoria acotada por tamaño con expiración por tiempo (TTL).
+ * Las entradas próximas a expirar se siguen sirviendo mientras se refrescan
+ * en segundo plano (stale-while-revalidate), y las claves para las que el
+ * cargador devuelve `null` se guardan como entradas negativas con su propio TTL.
+ * Cuando se supera el tamaño máximo se desaloja la entrada usada hace más tiempo.
+ * Una carga solo guarda su resultado si nadie ha llamado a {@link #put} o {@link #invalidate}
+ * para esa clave mientras se cargaba, de modo que una lectura lenta no sobrescribe una
+ * invalidación posterior con datos anteriores a la escritura.
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del valor almacenado.
+ */
+public class ExpiringCache<K, V> {
+
+    /**
+     * Función que obtiene el valor de una clave desde la fuente original.
+     * Devolver `null` indica que la clave no existe y se almacena como entrada negativa;
+     * lanzar una excepción indica un error transitorio y no se almacena nada.
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws Exception;
+    }
+
+    /**
+     * Función que obtiene varios valores a la vez desde la fuente original.
+     * Las claves que no aparecen en el resultado no existen y se almacenan como entradas negativas.
+     */
+    @FunctionalInterface
+    public interface BulkLoader<K, V> {
+        Map<K, V> loadAll(Set<K> keys) throws Exception;
+    }
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final long refreshAheadNanos;
+    private final Executor refreshExecutor;
+    private final Map<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Crea una caché.
+     *
+     * @param maximumSize     Número máximo de entradas.
+     * @param ttlNanos        Tiempo de vida de una entrada con valor, en nanosegundos.
+     * @param negativeTtlNanos Tiempo de vida de una entrada negativa, en nanosegundos.
+     * @param refreshAheadNanos Margen antes de expirar a partir del cual se refresca la entrada
+     *                        en segundo plano; `0` desactiva el refresco anticipado.
+     * @param refreshExecutor Ejecutor donde se realizan los refrescos en segundo plano.
+     */
+    public ExpiringCache(int maximumSize, long ttlNanos, long negativeTtlNanos,
+                         long refreshAheadNanos, Executor refreshExecutor) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be greater than 0");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.refreshAheadNanos = Math.min(refreshAheadNanos, ttlNanos);
+        this.refreshExecutor = refreshExecutor;
+        // LinkedHashMap en orden de acceso: la entrada más antigua es la menos usada.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el valor de una clave, cargándolo si no está en la caché o ha expirado.
+     * Si la entrada está dentro del margen de refresco se devuelve el valor actual
+     * y se lanza una recarga en segundo plano.
+     *
+     * @param key    Clave a consultar.
+     * @param loader Función que carga el valor desde la fuente original.
+     * @return El valor asociado, o `null` si la clave no existe.
+     * @throws Exception Si la carga síncrona falla.
+     */
+    public V get(K key, Loader<K, V> loader) throws Exception {
+        Entry<V> entry = freshEntry(key);
+        if (entry != null) {
+            hits.increment();
+            refreshIfDue(key, entry, () -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.load(key);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, refreshExecutor));
+            return entry.value;
+        }
+
+        misses.increment();
+        Entry<V> token = beginLoad(key);
+        V value;
+        try {
+            value = loader.load(key);
+        } catch (Exception e) {
+            abortLoad(key, token);
+            throw e;
+        }
+        completeLoad(key, token, value);
+        return value;
+    }
+
+    /**
+     * Obtiene el valor de una clave solo si está en la caché y no ha expirado, sin cargarlo
+     * ni contar un acierto o un fallo.
+     *
+     * @param key Clave a consultar.
+     * @return El valor vigente, o `null` si no está, ha expirado o es una entrada negativa.
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = freshEntry(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Obtiene los valores de varias claves; las que no están en la caché o han expirado se
+     * cargan juntas con una sola llamada al cargador.
+     *
+     * @param keys   Claves a consultar.
+     * @param loader Función que carga los valores de las claves que faltan.
+     * @return Los valores de las claves que existen; las inexistentes no aparecen.
+     * @throws Exception Si la carga de las claves que faltan falla.
+     */
+    public Map<K, V> getAll(Collection<K> keys, BulkLoader<K, V> loader) throws Exception {
+        Map<K, V> values = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            Entry<V> entry = freshEntry(key);
+            if (entry == null) {
+                missing.add(key);
+                continue;
+            }
+            hits.increment();
+            if (entry.value != null) {
+                values.put(key, entry.value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        misses.add(missing.size());
+        Map<K, Entry<V>> tokens = new HashMap<>();
+        for (K key : missing) {
+            tokens.put(key, beginLoad(key));
+        }
+        Map<K, V> loaded;
+        try {
+            loaded = loader.loadAll(missing);
+        } catch (Exception e) {
+            tokens.forEach(this::abortLoad);
+            throw e;
+        }
+        for (K key : missing) {
+            V value = loaded.get(key);
+            completeLoad(key, tokens.get(key), value);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Variante asíncrona de {@link #get(Object, Loader)}: el cargador devuelve una etapa
+     * que se completa con el valor, sin bloquear al hilo que consulta la caché.
+     *
+     * @param key    Clave a consultar.
+     * @param loader Función que inicia la carga del valor desde la fuente original.
+     * @return Una etapa que se completa con el valor asociado, o con `null` si la clave no existe.
+     */
+    public CompletableFuture<V> getAsync(K key, Function<K, ? extends CompletionStage<V>> loader) {
+        Entry<V> entry = freshEntry(key);
+        if (entry != null) {
+            hits.increment();
+            refreshIfDue(key, entry, () -> loader.apply(key));
+            return CompletableFuture.completedFuture(entry.value);
+        }
+
+        misses.increment();
+        Entry<V> token = beginLoad(key);
+        CompletionStage<V> load;
+        try {
+            load = loader.apply(key);
+        } catch (RuntimeException e) {
+            abortLoad(key, token);
+            throw e;
+        }
+        return load.toCompletableFuture().whenComplete((value, error) -> {
+            if (error != null) {
+                abortLoad(key, token);
+            } else {
+                completeLoad(key, token, value);
+            }
+        });
+    }
+
+    /**
+     * Almacena un valor en la caché, reemplazando el anterior.
+     *
+     * @param key   Clave a almacenar.
+     * @param value Valor a almacenar, o `null` para una entrada negativa.
+     */
+    public void put(K key, V value) {
+        Entry<V> entry = newEntry(value, System.nanoTime());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Elimina una clave de la caché.
+     *
+     * @param key Clave a eliminar.
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Elimina todas las entradas de la caché.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Registra el inicio de la carga de una clave con una entrada de marca ya expirada, que
+     * {@link #put} o {@link #invalidate} reemplazan o eliminan si se llaman durante la carga.
+     */
+    private Entry<V> beginLoad(K key) {
+        long now = System.nanoTime();
+        Entry<V> token = new Entry<>(null, now, now);
+        synchronized (entries) {
+            entries.put(key, token);
+        }
+        return token;
+    }
+
+    /**
+     * Guarda el valor cargado solo si la marca de la carga sigue en la caché; si no, la clave
+     * se escribió o invalidó mientras tanto y el valor puede ser anterior a ese cambio.
+     */
+    private void completeLoad(K key, Entry<V> token, V value) {
+        Entry<V> loaded = newEntry(value, System.nanoTime());
+        synchronized (entries) {
+            entries.replace(key, token, loaded);
+        }
+    }
+
+    /**
+     * Retira la marca de una carga fallida, si sigue en la caché.
+     */
+    private void abortLoad(K key, Entry<V> token) {
+        synchronized (entries) {
+            entries.remove(key, token);
+        }
+    }
+
+    /**
+     * Devuelve la entrada vigente de una clave, o `null` si no existe o ha expirado.
+     */
+    private Entry<V> freshEntry(K key) {
+        long now = System.nanoTime();
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        return entry != null && now - entry.expiresAt < 0 ? entry : null;
+    }
+
+    /**
+     * Recarga una entrada en segundo plano si ha entrado en el margen de refresco y nadie
+     * la está recargando ya. Si la recarga falla se conserva el valor actual hasta su
+     * expiración y se podrá intentar de nuevo en el siguiente acceso.
+     */
+    private void refreshIfDue(K key, Entry<V> current, Supplier<? extends CompletionStage<V>> reload) {
+        if (refreshAheadNanos <= 0 || System.nanoTime() - current.refreshAt < 0
+                || !current.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reload.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    refreshFailures.increment();
+                    current.refreshing.set(false);
+                    return;
+                }
+                Entry<V> refreshed = newEntry(value, System.nanoTime());
+                synchronized (entries) {
+                    // Solo se reemplaza si nadie ha modificado la entrada mientras tanto.
+                    entries.replace(key, current, refreshed);
+                }
+                refreshes.increment();
+            });
+        } catch (RuntimeException e) {
+            // El ejecutor rechazó la tarea; se reintentará en el siguiente acceso.
+            refreshFailures.increment();
+            current.refreshing.set(false);
+        }
+    }
+
+    private Entry<V> newEntry(V value, long now) {
+        long ttl = value == null ? negativeTtlNanos : ttlNanos;
+        long refreshAt = now + ttl - Math.min(refreshAheadNanos, ttl);
+        return new Entry<>(value, now + ttl, refreshAt);
+    }
+
+    /**
+     * Registra las métricas de la caché siguiendo las convenciones de Micrometer
+     * (`cache.gets`, `cache.evictions`, `cache.size`) junto con los refrescos realizados
+     * y la proporción de aciertos.
+     *
+     * @param registry Registro de métricas.
+     * @param name     Nombre de la caché, usado como etiqueta `cache`.
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+            .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+            .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.refreshes", refreshes, LongAdder::sum)
+            .tag("cache", name).tag("result", "success").register(registry);
+        FunctionCounter.builder("cache.refreshes", refreshFailures, LongAdder::sum)
+            .tag("cache", name).tag("result", "failure").register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+            .tag("cache", name).register(registry);
+        Gauge.builder("cache.size", this, ExpiringCache::size)
+            .tag("cache", name).register(registry);
+        Gauge.builder("cache.hit.ratio", this, ExpiringCache::hitRatio)
+            .tag("cache", name).register(registry);
+    }
+
+    /**
+     * @return Número de entradas almacenadas, incluidas las negativas y las cargas en curso.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Número de accesos servidos desde la caché.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Número de accesos que requirieron una carga síncrona.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Proporción de accesos servidos desde la caché; `0` si aún no hay accesos.
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return Número de refrescos en segundo plano completados.
+     */
+    public long refreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * @return Número de entradas desalojadas por superar el tamaño máximo.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Entrada de la caché. Un valor `null` representa una entrada negativa.
+     */
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+        final long refreshAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(V value, long expiresAt, long refreshAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
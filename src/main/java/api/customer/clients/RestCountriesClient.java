@@ -0,0 +1,43 @@
+package api.customer.clients;
+
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Cliente REST de la API de RestCountries.
+ * Quarkus gestiona una única instancia con un pool de conexiones persistentes
+ * (keep-alive); la URL, los tiempos de conexión y lectura y el tamaño del pool
+ * se configuran con las propiedades `quarkus.rest-client.restcountries.*`.
+ * Las respuestas con estado de error se reciben como `WebApplicationException`.
+ */
+@RegisterRestClient(configKey = "restcountries")
+@Produces(MediaType.APPLICATION_JSON)
+public interface RestCountriesClient {
+
+    /**
+     * Obtiene el documento JSON de un país.
+     *
+     * @param code Código del país (ISO 3166-1 numérico o alfa).
+     * @return El cuerpo de la respuesta, un arreglo JSON con el país.
+     */
+    @GET
+    @Path("/alpha/{code}")
+    Uni<String> findByCode(@PathParam("code") String code);
+
+    /**
+     * Obtiene el documento JSON de todos los países.
+     *
+     * @param fields Lista de campos a incluir separados por comas (ejemplo: "ccn3,idd,demonyms").
+     * @return El cuerpo de la respuesta, un arreglo JSON con todos los países.
+     */
+    @GET
+    @Path("/all")
+    Uni<String> findAll(@QueryParam("fields") String fields);
+}
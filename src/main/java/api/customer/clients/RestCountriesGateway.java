@@ -0,0 +1,152 @@
+package api.customer.clients;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import api.customer.models.CountryProfile;
+import io.smallrye.faulttolerance.api.AsynchronousNonBlocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Acceso a la API de RestCountries protegido con reintentos y cortocircuito.
+ * Convierte los documentos de la API en objetos `CountryProfile` sin bloquear al hilo
+ * que llama. Los códigos inexistentes no se consideran fallos: no consumen reintentos
+ * ni abren el cortocircuito.
+ * Los parámetros de tolerancia a fallos pueden ajustarse con las propiedades estándar
+ * de MicroProfile Fault Tolerance, por ejemplo
+ * `api.customer.clients.RestCountriesGateway/fetchProfile/Retry/maxRetries`.
+ */
+@ApplicationScoped
+public class RestCountriesGateway {
+
+    /** Campos de `/all` necesarios para construir un `CountryProfile`. */
+    public static final String ALL_FIELDS = "ccn3,idd,demonyms";
+
+    @Inject
+    @RestClient
+    RestCountriesClient client;
+
+    /**
+     * Obtiene el perfil de un país desde la API.
+     * Cada llamada dispone de un presupuesto de dos reintentos dentro de un máximo de
+     * tres segundos; si la mitad de las últimas veinte llamadas fallan, el cortocircuito
+     * rechaza las siguientes durante diez segundos sin llegar a la API.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con el perfil del país, o con `null` si el país no existe.
+     */
+    @AsynchronousNonBlocking
+    @Retry(maxRetries = 2, delay = 100, jitter = 50, maxDuration = 3000)
+    @CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10000, successThreshold = 2)
+    public Uni<CountryProfile> fetchProfile(String countryCode) {
+        return client.findByCode(countryCode)
+            .map(json -> parseCountry(countryCode, json))
+            .onFailure(RestCountriesGateway::isUnknownCountry).recoverWithNull();
+    }
+
+    /**
+     * Obtiene el perfil de todos los países que tienen código ISO numérico.
+     *
+     * @return Un `Uni` con los perfiles, identificados por su código ISO numérico.
+     */
+    public Uni<List<CountryProfile>> fetchAllProfiles() {
+        return client.findAll(ALL_FIELDS).map(RestCountriesGateway::parseAll);
+    }
+
+    /**
+     * Indica si un fallo corresponde a un código de país inexistente.
+     */
+    private static boolean isUnknownCountry(Throwable failure) {
+        if (failure instanceof WebApplicationException e) {
+            int status = e.getResponse().getStatus();
+            return status == Response.Status.NOT_FOUND.getStatusCode()
+                || status == Response.Status.BAD_REQUEST.getStatusCode();
+        }
+        return false;
+    }
+
+    /**
+     * Interpreta el documento JSON devuelto por `/alpha/{code}`.
+     *
+     * @param countryCode Código con el que se consultó el país.
+     * @param json        Cuerpo de la respuesta.
+     * @return El perfil del país, o `null` si el documento está vacío.
+     */
+    private CountryProfile parseCountry(String countryCode, String json) {
+        try (JsonReader jsonReader = Json.createReader(new StringReader(json))) {
+            JsonArray jsonArray = jsonReader.readArray();
+            if (jsonArray.isEmpty()) {
+                return null;
+            }
+            return toProfile(countryCode, jsonArray.getJsonObject(0));
+        }
+    }
+
+    /**
+     * Interpreta el documento JSON devuelto por `/all`. Los países sin código ISO
+     * numérico se descartan.
+     *
+     * @param json Cuerpo de la respuesta.
+     * @return Los perfiles de los países, identificados por su código ISO numérico.
+     */
+    public static List<CountryProfile> parseAll(String json) {
+        List<CountryProfile> profiles = new ArrayList<>();
+        try (JsonReader jsonReader = Json.createReader(new StringReader(json))) {
+            for (JsonValue value : jsonReader.readArray()) {
+                JsonObject countryObject = value.asJsonObject();
+                String ccn3 = countryObject.getString("ccn3", null);
+                if (ccn3 != null && !ccn3.isEmpty()) {
+                    profiles.add(toProfile(ccn3, countryObject));
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Construye el perfil de un país a partir de su objeto JSON.
+     *
+     * @param countryCode   Código que identificará al perfil.
+     * @param countryObject Objeto JSON del país.
+     * @return El perfil del país.
+     */
+    private static CountryProfile toProfile(String countryCode, JsonObject countryObject) {
+        // Prefijo telefónico: raíz y sufijos.
+        String dialRoot = null;
+        List<String> dialSuffixes = new ArrayList<>();
+        JsonObject idd = countryObject.getJsonObject("idd");
+        if (idd != null && idd.containsKey("root") && idd.containsKey("suffixes")) {
+            dialRoot = idd.getString("root", null);
+            for (JsonValue value : idd.getJsonArray("suffixes")) {
+                dialSuffixes.add(((JsonString) value).getString());
+            }
+        }
+
+        // Gentilicio masculino en inglés.
+        String demonym = null;
+        JsonObject demonyms = countryObject.getJsonObject("demonyms");
+        if (demonyms != null) {
+            JsonObject eng = demonyms.getJsonObject("eng");
+            if (eng != null) {
+                demonym = eng.getString("m", null);
+            }
+        }
+
+        return new CountryProfile(countryCode, dialRoot, dialSuffixes, demonym);
+    }
+}
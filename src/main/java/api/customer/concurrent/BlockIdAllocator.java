@@ -0,0 +1,124 @@
+package api.customer.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asignador de identificadores por bloques (hi/lo).
+ * Reserva rangos de identificadores en una fuente compartida, normalmente una tabla de
+ * secuencia, y los entrega desde memoria con un contador atómico: solo se consulta la
+ * fuente cuando se agota el bloque actual. Cada identificador se entrega una sola vez,
+ * también entre instancias de la aplicación, porque cada bloque se reserva de forma atómica
+ * en la fuente. Los identificadores de un bloque que no llegan a usarse se pierden.
+ */
+public class BlockIdAllocator {
+
+    /**
+     * Fuente de bloques de identificadores.
+     */
+    @FunctionalInterface
+    public interface BlockSource {
+        /**
+         * Reserva de forma atómica un bloque de identificadores consecutivos.
+         *
+         * @param size Número de identificadores del bloque.
+         * @return El primer identificador del bloque; el bloque es `[primero, primero + size)`.
+         * @throws Exception Si la reserva falla.
+         */
+        long reserve(int size) throws Exception;
+    }
+
+    private final BlockSource source;
+    private final int blockSize;
+    // Un `ReentrantLock` y no `synchronized`: la reserva consulta la base de datos, y un hilo
+    // virtual que espera E/S dentro de `synchronized` bloquea también su hilo portador.
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    private volatile Block current = new Block(0, 0); // Bloque vacío hasta la primera reserva
+
+    /**
+     * Crea un asignador.
+     *
+     * @param blockSize Número de identificadores que se reservan en cada consulta a la fuente.
+     * @param source    Fuente de bloques.
+     */
+    public BlockIdAllocator(int blockSize, BlockSource source) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be greater than 0");
+        }
+        this.blockSize = blockSize;
+        this.source = source;
+    }
+
+    /**
+     * Obtiene un identificador nuevo, reservando un bloque en la fuente si el actual se ha agotado.
+     *
+     * @return El identificador asignado.
+     * @throws Exception Si la reserva de un bloque falla.
+     */
+    public long nextId() throws Exception {
+        return nextIds(1);
+    }
+
+    /**
+     * Obtiene un rango de identificadores consecutivos.
+     * Si el rango cabe en el bloque actual se entrega desde memoria; si no, se reserva
+     * en la fuente un bloque propio del tamaño del rango, sin descartar el bloque actual.
+     *
+     * @param count Número de identificadores.
+     * @return El primer identificador del rango; el rango es `[primero, primero + count)`.
+     * @throws Exception Si la reserva de un bloque falla.
+     */
+    public long nextIds(int count) throws Exception {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be greater than 0");
+        }
+        if (count > blockSize) {
+            return source.reserve(count);
+        }
+        while (true) {
+            Block block = current;
+            long first = block.take(count);
+            if (first >= 0) {
+                return first;
+            }
+            reserveLock.lock();
+            try {
+                // Solo un hilo reserva el siguiente bloque; los demás reintentan sobre él.
+                if (current == block) {
+                    long start = source.reserve(blockSize);
+                    current = new Block(start, start + blockSize);
+                }
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Rango `[next, end)` de identificadores reservados en la fuente.
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * Toma `count` identificadores consecutivos, o devuelve `-1` si no quedan suficientes.
+         */
+        long take(int count) {
+            while (true) {
+                long first = next.get();
+                if (first + count > end) {
+                    return -1;
+                }
+                if (next.compareAndSet(first, first + count)) {
+                    return first;
+                }
+            }
+        }
+    }
+}
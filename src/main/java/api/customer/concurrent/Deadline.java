@@ -0,0 +1,157 @@
+package api.customer.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Plazo máximo de una operación compuesta de varios pasos, fijado al recibir la petición.
+ * Cada paso recibe el tiempo que queda al empezar, no un tiempo propio: si las consultas
+ * iniciales se comen el plazo, los pasos siguientes ya no se inician, y la operación completa
+ * nunca supera el plazo original.
+ */
+public final class Deadline {
+
+    // Plazo del trabajo bloqueante que se ejecuta en el hilo actual, para limitar sus consultas JDBC
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos; // Instante de expiración según `System.nanoTime()`
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Crea un plazo que expira tras el tiempo indicado, contado desde ahora.
+     *
+     * @param timeout Tiempo máximo de la operación.
+     * @return El plazo.
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return El tiempo que queda hasta la expiración; cero si ya expiró.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return El tiempo que queda en segundos, redondeado hacia arriba y como mínimo `1`, para
+     *         `Statement.setQueryTimeout`, donde `0` significaría sin límite.
+     */
+    public int remainingSeconds() {
+        long nanos = remaining().toNanos();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (nanos + 999_999_999L) / 1_000_000_000L));
+    }
+
+    /**
+     * @return `true` si el plazo ya expiró.
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Limita un paso al tiempo que quede al suscribirse a él. Si el paso no emite a tiempo,
+     * se cancela y el resultado falla con `TimeoutException`; si el plazo ya expiró, ni
+     * siquiera se inicia.
+     *
+     * @param step Paso a limitar.
+     * @return Un `Uni` con el resultado del paso.
+     */
+    public <T> Uni<T> bound(Uni<T> step) {
+        return Uni.createFrom().deferred(() -> {
+            Duration remaining = remaining();
+            if (remaining.isZero()) {
+                return Uni.createFrom().<T>failure(new TimeoutException());
+            }
+            return step.ifNoItem().after(remaining).fail();
+        });
+    }
+
+    /**
+     * Ejecuta un trabajo bloqueante con este plazo como plazo actual del hilo, de modo que las
+     * consultas que inicie puedan limitarse al tiempo que quede (ver {@link #current()}).
+     *
+     * @param work Trabajo a ejecutar.
+     * @return El resultado del trabajo.
+     */
+    public <T> T runWithin(Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link #runWithin(Supplier)}, para un trabajo que puede lanzar excepciones
+     * comprobadas.
+     *
+     * @param work Trabajo a ejecutar.
+     * @return El resultado del trabajo.
+     * @throws Exception Si el trabajo la lanza.
+     */
+    public <T> T callWithin(Callable<T> work) throws Exception {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return El plazo del trabajo que se ejecuta en el hilo actual, o `null` si no tiene.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Inicia un paso solo si queda tiempo, sin limitar después su duración. Sirve para las
+     * escrituras: una vez enviada, se espera su resultado para no responder con un error
+     * algo que sí quedó guardado.
+     *
+     * @param step Función que crea el paso.
+     * @return Un `Uni` con el resultado del paso, o que falla con `TimeoutException` si el
+     *         plazo ya expiró.
+     */
+    public <T> Uni<T> ifRemaining(Supplier<Uni<T>> step) {
+        return Uni.createFrom().deferred(() -> isExpired()
+            ? Uni.createFrom().<T>failure(new TimeoutException())
+            : step.get());
+    }
+
+    /**
+     * Obtiene el más próximo de dos plazos.
+     *
+     * @return El plazo que expira antes, o el otro si uno es `null`.
+     */
+    static Deadline earliest(Deadline a, Deadline b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.expiresAtNanos - b.expiresAtNanos <= 0 ? a : b;
+    }
+}
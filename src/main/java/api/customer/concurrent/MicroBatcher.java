@@ -0,0 +1,229 @@
+package api.customer.concurrent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Agrupa las cargas individuales de claves distintas que llegan casi a la vez en una sola
+ * carga por lotes (micro-batching, al estilo de DataLoader).
+ * La primera clave de un lote abre una ventana de espera; el lote se envía al cargador al
+ * cerrarse la ventana o en cuanto reúne el tamaño máximo, lo que ocurra antes. Las peticiones
+ * de una clave que ya está en el lote abierto comparten su resultado.
+ * A cambio de hasta una ventana de latencia añadida, muchas consultas concurrentes se
+ * resuelven con una sola llamada al cargador.
+ * Cada lote se carga con el plazo más próximo de quienes pidieron sus claves como plazo
+ * actual del hilo ({@link Deadline#current()}), de modo que sus consultas JDBC no se alargan
+ * más allá del tiempo que le queda a la petición más urgente.
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del resultado.
+ */
+public class MicroBatcher<K, V> {
+
+    /**
+     * Función que carga un lote de claves.
+     * Las claves que no aparecen en el resultado se completan con `null`; si la carga lanza
+     * una excepción, todas las peticiones del lote fallan con ella.
+     */
+    @FunctionalInterface
+    public interface BatchLoader<K, V> {
+        Map<K, V> loadAll(Set<K> keys) throws Exception;
+    }
+
+    private final int maxBatchSize;
+    private final BatchLoader<K, V> loader;
+    private final Executor executor;
+    private final Executor delayed;
+
+    private final Object lock = new Object();
+    private Batch<K, V> pending; // Lote abierto; `null` si no hay ninguno
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder fullBatches = new LongAdder();
+
+    /**
+     * Crea un agrupador.
+     *
+     * @param maxBatchSize Número máximo de claves por lote.
+     * @param windowNanos  Tiempo, en nanosegundos, que se espera desde la primera clave de un
+     *                     lote antes de enviarlo.
+     * @param loader       Función que carga cada lote.
+     * @param executor     Ejecutor donde se cargan los lotes.
+     */
+    public MicroBatcher(int maxBatchSize, long windowNanos, BatchLoader<K, V> loader, Executor executor) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.loader = loader;
+        this.executor = executor;
+        this.delayed = CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS, executor);
+    }
+
+    /**
+     * Añade una clave al lote abierto, abriendo uno nuevo si no lo hay, sin plazo propio.
+     *
+     * @param key Clave a cargar.
+     * @return Una etapa que se completa con el valor de la clave, o con `null` si no existe.
+     */
+    public CompletableFuture<V> load(K key) {
+        return load(key, null);
+    }
+
+    /**
+     * Añade una clave al lote abierto, abriendo uno nuevo si no lo hay. Si el plazo es más
+     * próximo que el del lote, el lote se carga con él.
+     *
+     * @param key      Clave a cargar.
+     * @param deadline Plazo de quien pide la clave, o `null` si no tiene.
+     * @return Una etapa que se completa con el valor de la clave, o con `null` si no existe.
+     */
+    public CompletableFuture<V> load(K key, Deadline deadline) {
+        CompletableFuture<V> future;
+        Batch<K, V> opened = null;
+        Batch<K, V> full = null;
+        synchronized (lock) {
+            if (pending == null) {
+                pending = new Batch<>();
+                opened = pending;
+            }
+            pending.deadline = Deadline.earliest(pending.deadline, deadline);
+            future = pending.futures.get(key);
+            if (future != null) {
+                coalesced.increment();
+                return future.copy();
+            }
+            future = new CompletableFuture<>();
+            pending.futures.put(key, future);
+            if (pending.futures.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+
+        if (full != null) {
+            fullBatches.increment();
+            submit(full, executor);
+        } else if (opened != null) {
+            Batch<K, V> batch = opened;
+            submit(batch, delayed, () -> close(batch));
+        }
+        // Se entrega una copia para que quien llama no pueda completar el resultado compartido.
+        return future.copy();
+    }
+
+    /**
+     * Cierra un lote al terminar su ventana, si no se envió antes por alcanzar el tamaño máximo.
+     *
+     * @return `true` si el lote seguía abierto y debe enviarse.
+     */
+    private boolean close(Batch<K, V> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return false;
+            }
+            pending = null;
+            return true;
+        }
+    }
+
+    private void submit(Batch<K, V> batch, Executor target) {
+        submit(batch, target, () -> true);
+    }
+
+    /**
+     * Envía un lote al ejecutor; `ready` decide, al ejecutarse, si el lote debe cargarse.
+     */
+    private void submit(Batch<K, V> batch, Executor target, BooleanSupplier ready) {
+        try {
+            target.execute(() -> {
+                if (ready.getAsBoolean()) {
+                    dispatch(batch);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // El ejecutor no admite más tareas: el lote falla en lugar de quedarse esperando.
+            close(batch);
+            fail(batch, e);
+        }
+    }
+
+    /**
+     * Carga un lote, con su plazo como plazo actual del hilo, y completa la petición de cada clave.
+     */
+    private void dispatch(Batch<K, V> batch) {
+        batches.increment();
+        keys.add(batch.futures.size());
+        Map<K, V> values;
+        try {
+            values = batch.deadline == null
+                ? loader.loadAll(batch.futures.keySet())
+                : batch.deadline.callWithin(() -> loader.loadAll(batch.futures.keySet()));
+        } catch (Exception | Error e) {
+            fail(batch, e);
+            return;
+        }
+        for (Map.Entry<K, CompletableFuture<V>> entry : batch.futures.entrySet()) {
+            entry.getValue().complete(values.get(entry.getKey()));
+        }
+    }
+
+    private void fail(Batch<K, V> batch, Throwable error) {
+        for (CompletableFuture<V> future : batch.futures.values()) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Registra las métricas del agrupador: lotes cargados, claves cargadas, peticiones que
+     * reutilizaron una clave del lote abierto y lotes enviados por alcanzar el tamaño máximo.
+     *
+     * @param registry Registro de métricas.
+     * @param name     Nombre del agrupador, usado como etiqueta `name`.
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("microbatch.batches", batches, LongAdder::sum)
+            .tag("name", name).register(registry);
+        FunctionCounter.builder("microbatch.keys", keys, LongAdder::sum)
+            .tag("name", name).register(registry);
+        FunctionCounter.builder("microbatch.coalesced", coalesced, LongAdder::sum)
+            .tag("name", name).register(registry);
+        FunctionCounter.builder("microbatch.full", fullBatches, LongAdder::sum)
+            .tag("name", name).register(registry);
+    }
+
+    /**
+     * @return Número de lotes cargados.
+     */
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return Número de claves cargadas en todos los lotes.
+     */
+    public long keyCount() {
+        return keys.sum();
+    }
+
+    /**
+     * Claves de un lote y el plazo con el que se carga. Solo se modifica con `lock` tomado
+     * mientras el lote está abierto; el hilo que lo carga lo lee después de cerrarlo.
+     */
+    private static final class Batch<K, V> {
+        final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        Deadline deadline; // Plazo más próximo de quienes pidieron claves; `null` si ninguno tenía
+    }
+}
@@ -0,0 +1,163 @@
+package api.customer.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Agrupa las cargas concurrentes de una misma clave en una sola ejecución (single-flight).
+ * El primer hilo que pide una clave ejecuta la carga; los que llegan mientras está en curso
+ * esperan su resultado, como máximo el tiempo configurado, en lugar de repetirla.
+ * Si la carga falla, todos los hilos que la esperaban reciben la misma excepción y la
+ * siguiente petición vuelve a intentarlo: los errores nunca se reutilizan.
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del resultado.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Crea un agrupador de cargas.
+     *
+     * @param maxWaitNanos Tiempo máximo, en nanosegundos, que un hilo espera una carga
+     *                     iniciada por otro antes de abandonar con `TimeoutException`.
+     */
+    public SingleFlight(long maxWaitNanos) {
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * Ejecuta la carga de una clave, o espera la que ya está en curso para esa clave.
+     *
+     * @param key    Clave a cargar.
+     * @param loader Carga a ejecutar si no hay otra en curso.
+     * @return El resultado de la carga.
+     * @throws TimeoutException Si la carga de otro hilo no termina a tiempo.
+     * @throws Exception Si la carga falla; se propaga la excepción original.
+     */
+    public V execute(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.call();
+            created.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Solo se retira la carga propia; la siguiente petición empezará una nueva.
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Variante asíncrona de {@link #execute(Object, Callable)}: inicia la carga de una clave,
+     * o se une a la que ya está en curso, sin bloquear al hilo que llama.
+     * Las cargas síncronas y asíncronas de una misma clave también se agrupan entre sí.
+     *
+     * @param key    Clave a cargar.
+     * @param loader Función que inicia la carga si no hay otra en curso.
+     * @return Una etapa que se completa con el resultado de la carga; para quien se une
+     *         a una carga en curso, falla con `TimeoutException` si no termina a tiempo.
+     */
+    public CompletableFuture<V> submit(K key, Supplier<? extends CompletionStage<V>> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy()
+                .orTimeout(maxWaitNanos, TimeUnit.NANOSECONDS)
+                .whenComplete((value, error) -> {
+                    if (error instanceof TimeoutException) {
+                        timeouts.increment();
+                    }
+                });
+        }
+
+        executions.increment();
+        try {
+            loader.get().whenComplete((value, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                } else {
+                    created.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        // Se entrega una copia para que quien llama no pueda completar la carga compartida.
+        return created.copy();
+    }
+
+    /**
+     * Espera el resultado de una carga iniciada por otro hilo.
+     */
+    private V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Registra las métricas del agrupador: cargas ejecutadas, peticiones que reutilizaron
+     * una carga en curso y esperas abandonadas por tiempo.
+     *
+     * @param registry Registro de métricas.
+     * @param name     Nombre del agrupador, usado como etiqueta `name`.
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("singleflight.calls", executions, LongAdder::sum)
+            .tag("name", name).tag("result", "executed").register(registry);
+        FunctionCounter.builder("singleflight.calls", coalesced, LongAdder::sum)
+            .tag("name", name).tag("result", "coalesced").register(registry);
+        FunctionCounter.builder("singleflight.timeouts", timeouts, LongAdder::sum)
+            .tag("name", name).register(registry);
+    }
+
+    /**
+     * @return Número de cargas en curso.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,75 @@
+package api.customer.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import api.customer.models.PayloadFormat;
+import api.customer.services.CustomerFieldWriter;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Lee y escribe las entidades de los endpoints en CBOR y Smile con el ObjectMapper de cada
+ * formato, igual que Quarkus hace con JSON. Los cuerpos ya serializados (`byte[]`) no pasan
+ * por aquí: se envían tal cual.
+ */
+@Provider
+@Consumes({PayloadFormat.CBOR_TYPE, PayloadFormat.SMILE_TYPE})
+@Produces({PayloadFormat.CBOR_TYPE, PayloadFormat.SMILE_TYPE})
+public class BinaryPayloadProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    @Inject
+    CustomerFieldWriter fieldWriter; // ObjectMapper de cada formato
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return binaryFormat(mediaType) != null;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        ObjectMapper mapper = fieldWriter.mapperFor(binaryFormat(mediaType));
+        // El flujo de la petición lo cierra Quarkus.
+        return mapper.readerFor(mapper.constructType(genericType))
+            .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .readValue(entityStream);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return binaryFormat(mediaType) != null;
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        fieldWriter.mapperFor(binaryFormat(mediaType)).writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writeValue(entityStream, value);
+    }
+
+    /**
+     * @return El formato binario del tipo de contenido, o `null` si es JSON u otro.
+     */
+    private static PayloadFormat binaryFormat(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        PayloadFormat format = PayloadFormat.of(mediaType.getType() + "/" + mediaType.getSubtype());
+        return format == PayloadFormat.JSON ? null : format;
+    }
+}
@@ -1,170 +1,574 @@
 package api.customer.controllers;
 
+import java.io.IOException;
+import java.net.URI;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import api.customer.interfaces.ICountryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import api.customer.concurrent.Deadline;
 import api.customer.models.Customer;
+import api.customer.models.CustomerBatchResult;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerLookupResult;
+import api.customer.models.CustomerPage;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.PayloadFormat;
+import api.customer.models.WriteStatus;
+import api.customer.services.CountryListingCache;
+import api.customer.services.CustomerFieldWriter;
 import api.customer.services.CustomerService;
+import api.customer.services.ReactiveCustomerService;
+import api.customer.services.RequestExecutor;
+import io.smallrye.mutiny.TimeoutException;
+import io.quarkus.vertx.http.Compressed;
+import io.quarkus.vertx.http.Uncompressed;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 
 
 /**
  * Controlador REST para gestionar operaciones relacionadas con clientes.
  * Proporciona endpoints para realizar operaciones CRUD sobre los clientes.
+ * Las entidades se leen y escriben con el ObjectMapper configurado por Quarkus, que se
+ * comparte entre peticiones y serializa directamente sobre el flujo de salida.
+ * Los endpoints reciben la petición en el hilo de E/S y ejecutan su trabajo bloqueante
+ * (JDBC) con `RequestExecutor`, en el pool de trabajadores o en hilos virtuales según
+ * `customers.threads`. Si se compila con `customers.repository=reactive`, las operaciones
+ * por cliente y el listado paginado usan en cambio `ReactiveCustomerService` y se atienden
+ * por completo en el hilo de eventos.
+ * Los cuerpos pueden ser JSON, CBOR o Smile según `Content-Type` y `Accept`; los listados se
+ * comprimen si el cliente lo acepta, y las respuestas de un solo cliente, pequeñas, no.
  */
 @Path("/customers")
-@Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Consumes({PayloadFormat.JSON_TYPE, PayloadFormat.CBOR_TYPE, PayloadFormat.SMILE_TYPE})
+@Produces({PayloadFormat.JSON_TYPE, PayloadFormat.CBOR_TYPE, PayloadFormat.SMILE_TYPE})
 public class CustomerController {
 
+    private static final String NDJSON = "application/x-ndjson"; // Un documento JSON por línea
+    // Los listados por país varían según el formato y la compresión aceptados
+    private static final String LISTING_VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
     @Inject
     private CustomerService service; // Servicio principal para la lógica de negocio de clientes.
     @Inject
-    private ICountryService countryService; // Servicio para validar información relacionada con países.
+    private RequestExecutor requests; // Ejecuta el trabajo bloqueante en hilos de plataforma o virtuales.
+    @Inject
+    private CountryListingCache countryListings; // Listados por país ya serializados.
+    @Inject
+    private CustomerFieldWriter fieldWriter; // Serializa solo los campos pedidos con `fields=`.
+    @Inject
+    Instance<ReactiveCustomerService> reactiveServices; // Solo resoluble con `customers.repository=reactive`.
+    @ConfigProperty(name = "customers.batch.max-size", defaultValue = "1000")
+    int maxBatchSize; // Número máximo de clientes en una carga masiva.
+    @ConfigProperty(name = "customers.multi-get.max-size", defaultValue = "1000")
+    int maxMultiGetSize; // Número máximo de identificadores en `GET /customers?ids=`.
+    @Context
+    UriInfo uriInfo; // URI de la petición, para construir el enlace a la página siguiente.
+
+    private ReactiveCustomerService reactiveService; // `null` con `customers.repository=jdbc`.
+
+    @PostConstruct
+    void init() {
+        if (reactiveServices.isResolvable()) {
+            reactiveService = reactiveServices.get();
+        }
+    }
    
     /**
      * Crea un nuevo cliente.
-     * Convierte un JSON de entrada en un objeto Customer, valida y guarda los datos.
+     * El cuerpo se convierte en un objeto Customer con el ObjectMapper de la aplicación,
+     * y la respuesta se serializa directamente sobre la conexión.
+     * El país se resuelve y, solo si es válido, se genera el identificador, dentro del plazo
+     * de `customers.write.timeout`; si no se obtienen a tiempo o el servicio de países no
+     * responde, la respuesta es 503.
      *
-     * @param requestBody JSON con los datos del cliente a crear.
+     * @param customer Datos del cliente a crear.
      * @return Respuesta HTTP con el estado de la operación.
      */
     
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response createCustomer(String requestBody) {
-        try {
-            // Crear un ObjectMapper de Jackson
-            ObjectMapper objectMapper = new ObjectMapper();
-    
-            // Convertir el JSON recibido en un objeto Customer
-            Customer customer = objectMapper.readValue(requestBody, Customer.class);
-    
-             // Limpiar campos opcionales
-            if (customer.getMiddleName() != null && customer.getMiddleName().trim().isEmpty()) {
-                customer.setMiddleName(null);
+    @Uncompressed
+    public Uni<Response> createCustomer(Customer customer) {
+        if (customer == null) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("error", "Request body is required")).build());
+        }
+
+         // Limpiar campos opcionales
+        if (customer.getMiddleName() != null && customer.getMiddleName().trim().isEmpty()) {
+            customer.setMiddleName(null);
+        }
+        if (customer.getSecondLastName() != null && customer.getSecondLastName().trim().isEmpty()) {
+            customer.setSecondLastName(null);
+        }
+
+        // El plazo cuenta desde que llega la petición.
+        Deadline deadline = service.writeDeadline();
+        Uni<WriteStatus> created = reactiveService != null
+            ? reactiveService.createCustomer(customer, deadline)
+            : service.createCustomer(customer, deadline);
+        return created
+            .map(status -> {
+                // Responder según el resultado
+                if (status.isSuccess()) {
+                    return Response.status(Response.Status.CREATED).entity(customer).build();
+                }
+                if (isConflict(status)) {
+                    return Response.status(Response.Status.CONFLICT)
+                        .entity(Map.of("error", conflictMessage(status))).build();
+                }
+                if (status == WriteStatus.COUNTRY_UNAVAILABLE) {
+                    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .entity(Map.of("error", "Country service unavailable")).build();
+                }
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Error creating customer")).build();
+            })
+            .onFailure(TimeoutException.class).recoverWithItem(e -> timeoutResponse())
+            .onFailure().recoverWithItem(this::errorResponse);
+    }
+
+    /**
+     * Crea varios clientes en una sola petición.
+     * Los clientes válidos se guardan juntos; los que no lo son se rechazan sin afectar
+     * al resto. La respuesta contiene un resultado por cliente, en el mismo orden.
+     *
+     * @param customers Clientes a crear (como máximo `customers.batch.max-size`).
+     * @return Respuesta HTTP con el resultado de cada cliente.
+     */
+    @POST
+    @Path("/batch")
+    @Compressed
+    public Uni<Response> createCustomers(List<Customer> customers) {
+        return requests.submit(() -> {
+            if (customers == null || customers.isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "At least one customer is required")).build();
             }
-            if (customer.getSecondLastName() != null && customer.getSecondLastName().trim().isEmpty()) {
-                customer.setSecondLastName(null);
+            if (customers.size() > maxBatchSize) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "A batch must not exceed " + maxBatchSize + " customers")).build();
             }
-            // Lógica para guardar el cliente
-            boolean success = this.service.createCustomer(customer);
-    
-            // Serializar el objeto Customer de nuevo a JSON
-            String json = objectMapper.writeValueAsString(customer);
-    
-            // Responder según el resultado
-            return success
-                ? Response.status(Response.Status.CREATED).entity(json).type("application/json").build()
-                : Response.status(Response.Status.BAD_REQUEST).entity("{\"error\": \"Error creating customer\"}").type("application/json").build();
-        } catch (Exception e) {
-            e.printStackTrace();
-    
-            // Retornar un error en formato JSON
-            String errorJson = String.format("{\"error\": \"Error processing request: %s\"}", e.getMessage());
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity(errorJson)
-                .type("application/json")
-                .build();
+
+            for (Customer customer : customers) {
+                if (customer == null) {
+                    continue;
+                }
+                // Limpiar campos opcionales
+                if (customer.getMiddleName() != null && customer.getMiddleName().trim().isEmpty()) {
+                    customer.setMiddleName(null);
+                }
+                if (customer.getSecondLastName() != null && customer.getSecondLastName().trim().isEmpty()) {
+                    customer.setSecondLastName(null);
+                }
+            }
+
+            List<CustomerBatchResult> results = service.createCustomers(customers);
+            return Response.ok(results).build();
+        });
+    }
+
+    /**
+     * Construye la respuesta de error para una petición de creación que no pudo procesarse.
+     *
+     * @param e Excepción producida.
+     * @return Respuesta HTTP 500 con el error en formato JSON.
+     */
+    private Response errorResponse(Throwable e) {
+        e.printStackTrace();
+
+        // Retornar un error en formato JSON
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            .entity(Map.of("error", "Error processing request: " + e.getMessage()))
+            .build();
+    }
+
+    /**
+     * Construye la respuesta de una escritura que no pudo empezar dentro de su plazo.
+     *
+     * @return Respuesta HTTP 503 con el error en formato JSON.
+     */
+    private Response timeoutResponse() {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+            .entity(Map.of("error", "Request timed out")).build();
+    }
+
+    /**
+     * Obtiene los clientes registrados, paginados por identificador.
+     * El cuerpo es la lista de clientes de la página; el cursor de la siguiente se devuelve
+     * en la cabecera `X-Next-Cursor` y como enlace `rel="next"` en la cabecera `Link`,
+     * que no aparecen en la última página.
+     * Con `ids=` se obtienen en cambio los clientes indicados (`ids=1,2,3` o `ids=1&ids=2`):
+     * el cuerpo tiene un resultado por identificador, en el mismo orden, con estado `FOUND`
+     * y el cliente, o `NOT_FOUND`.
+     *
+     * @param cursor Cursor devuelto en la página anterior (opcional).
+     * @param limit  Número máximo de clientes por página (opcional, limitado por el servidor).
+     * @param ids    Identificadores de los clientes a obtener (opcional).
+     * @param fields Campos de cada cliente a devolver, separados por comas (opcional, todos por defecto).
+     * @param accept Formatos aceptados por el cliente (JSON por defecto).
+     * @return Respuesta HTTP con la página de clientes o los clientes pedidos.
+     */
+    @GET
+    @Compressed
+    public Uni<Response> getAllCustomers(
+        @QueryParam("cursor") String cursor,
+        @QueryParam("limit") Integer limit,
+        @QueryParam("ids") List<String> ids,
+        @QueryParam("fields") String fields,
+        @HeaderParam(HttpHeaders.ACCEPT) String accept
+    ) {
+        // La URI se lee en el hilo de la petición; el enlace a la página siguiente se construye después.
+        UriBuilder requestUri = uriInfo.getRequestUriBuilder();
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        Set<CustomerField> selected;
+        List<Integer> customerIds = null;
+        try {
+            selected = CustomerField.parse(fields);
+            if (ids != null && !ids.isEmpty()) {
+                if (cursor != null || limit != null) {
+                    throw new IllegalArgumentException("ids cannot be combined with cursor or limit");
+                }
+                customerIds = parseIds(ids);
+            }
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage()).build());
         }
+
+        Uni<Response> response;
+        if (customerIds != null) {
+            List<Integer> requested = customerIds;
+            Uni<List<CustomerLookupResult>> results = reactiveService != null
+                ? reactiveService.findByIds(requested)
+                : requests.submit(() -> service.findByIds(requested));
+            response = results.map(found -> okResponse(found, selected, format));
+        } else {
+            Uni<CustomerPage> page = reactiveService != null
+                ? reactiveService.findPage(cursor, limit, selected)
+                : requests.submit(() -> service.findPage(cursor, limit, selected));
+            response = page.map(found -> {
+                try {
+                    return pageResponse(body(found.getCustomers(), selected, format), found.getNextCursor(), requestUri)
+                        .type(format.getMediaType())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .build();
+                } catch (IOException e) {
+                    return errorResponse(e);
+                }
+            });
+        }
+        // Cursor o tamaño de página no válidos.
+        return response.onFailure(IllegalArgumentException.class).recoverWithItem(e ->
+            Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build());
     }
+
     /**
-     * Obtiene todos los clientes registrados.
+     * Exporta todos los clientes activos en una sola respuesta, escribiendo cada cliente
+     * a medida que se lee de la base de datos: la memoria usada no depende del número de
+     * clientes. La respuesta se envía por partes (chunked), y si el cliente HTTP lee más
+     * despacio de lo que se consulta, la escritura se bloquea y con ella la lectura de filas.
      *
-     * @return Lista de clientes.
+     * @param format `ndjson` (por defecto) para un cliente JSON por línea,
+     *               o `json` para un único array JSON.
+     * @param fields Campos de cada cliente a exportar, separados por comas (opcional, todos por defecto).
+     * @return Respuesta HTTP con la exportación.
      */
     @GET
-    @Produces(MediaType.APPLICATION_JSON)
-    public String getAllCustomers() {
-        List<Customer> customers = service.findAll();
-        ObjectMapper mapper = new ObjectMapper();
+    @Path("/export")
+    @Produces({NDJSON, MediaType.APPLICATION_JSON})
+    @Compressed
+    public Response exportCustomers(
+        @QueryParam("format") @DefaultValue("ndjson") String format,
+        @QueryParam("fields") String fields
+    ) {
+        boolean array;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            array = false;
+        } else if ("json".equalsIgnoreCase(format)) {
+            array = true;
+        } else {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("format must be ndjson or json").type(MediaType.TEXT_PLAIN).build();
+        }
+        Set<CustomerField> selected;
+        try {
+            selected = CustomerField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage()).type(MediaType.TEXT_PLAIN).build();
+        }
+
+        // El generador no cierra el flujo de la respuesta; de eso se encarga Quarkus.
+        ObjectWriter writer = fieldWriter.writerFor(selected).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingOutput body = output -> {
+            long count;
+            try (SequenceWriter sequence = array
+                    ? writer.writeValuesAsArray(output)
+                    : writer.withRootValueSeparator("\n").writeValues(output)) {
+                count = service.forEachCustomer(selected, sequence::write);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                // El estado ya se envió: se corta la respuesta para que no parezca completa.
+                throw new IOException("Error exporting customers", e);
+            }
+            if (!array && count > 0) {
+                output.write('\n');
+            }
+        };
+        return Response.ok(body, array ? MediaType.APPLICATION_JSON : NDJSON).build();
+    }
+
+    /**
+     * Prepara el cuerpo de una respuesta con clientes: si se piden todos los campos, la
+     * entidad se serializa como siempre; si no, se serializa aquí omitiendo los demás.
+     *
+     * @param value  Cliente o lista de clientes.
+     * @param fields Campos a incluir.
+     * @param format Formato del cuerpo.
+     * @return La entidad sin serializar, o el cuerpo ya serializado en el formato.
+     * @throws IOException Si no puede serializarse.
+     */
+    private Object body(Object value, Set<CustomerField> fields, PayloadFormat format) throws IOException {
+        if (fields.containsAll(CustomerField.ALL)) {
+            return value;
+        }
+        return fieldWriter.writerFor(fields, format).writeValueAsBytes(value);
+    }
+
+    /**
+     * Construye una respuesta 200 con los campos pedidos de un cliente o una lista de clientes.
+     */
+    private Response okResponse(Object value, Set<CustomerField> fields, PayloadFormat format) {
         try {
-            return mapper.writeValueAsString(customers);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "Error al serializar datos.";
+            return Response.ok(body(value, fields, format), format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .build();
+        } catch (IOException e) {
+            return errorResponse(e);
+        }
+    }
+
+    /**
+     * Construye la respuesta de una página con el cuerpo dado y el enlace a la siguiente.
+     *
+     * @param body       Cuerpo de la respuesta.
+     * @param nextCursor Cursor de la página siguiente, o `null` si es la última.
+     * @param requestUri URI de la petición, leída en el hilo que la recibió.
+     * @return Respuesta HTTP 200 con la página.
+     */
+    private Response.ResponseBuilder pageResponse(Object body, String nextCursor, UriBuilder requestUri) {
+        Response.ResponseBuilder response = Response.ok(body);
+        if (nextCursor != null) {
+            URI next = requestUri
+                .replaceQueryParam("cursor", nextCursor)
+                .build();
+            response.header("X-Next-Cursor", nextCursor)
+                .link(next, "next");
         }
+        return response;
     }
 
     /**
      * Obtiene un cliente por su ID.
+     * La respuesta lleva las cabeceras `ETag` y `Last-Modified` de la fila. Si la petición trae
+     * `If-None-Match` o `If-Modified-Since`, primero se lee solo la versión del cliente y, si no
+     * ha cambiado, se responde 304 sin leer ni serializar el cliente.
      *
-     * @param id Identificador único del cliente.
+     * @param id              Identificador único del cliente.
+     * @param fields          Campos del cliente a devolver, separados por comas (opcional, todos por defecto).
+     * @param ifNoneMatch     Etiquetas `ETag` que el cliente ya tiene (opcional).
+     * @param ifModifiedSince Fecha de la copia que el cliente ya tiene (opcional; se ignora con `If-None-Match`).
+     * @param accept          Formatos aceptados por el cliente (JSON por defecto).
      * @return Respuesta HTTP con el cliente encontrado o mensaje de error.
      */
     @GET
     @Path("/{id}")
-    public Response getCustomerById(@PathParam("id") int id) {
+    @Uncompressed
+    public Uni<Response> getCustomerById(
+        @PathParam("id") int id,
+        @QueryParam("fields") String fields,
+        @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+        @HeaderParam(HttpHeaders.IF_MODIFIED_SINCE) String ifModifiedSince,
+        @HeaderParam(HttpHeaders.ACCEPT) String accept
+    ) {
         if (id <= 0) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("ID must be greater than 0").build();
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("ID must be greater than 0").build());
         }
-    
-        Customer customer = service.findById(id);
-        if (customer == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity("Customer not found").build();
-        }
-    
+        Set<CustomerField> selected;
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String json = objectMapper.writeValueAsString(customer);
-            return Response.ok(json).type(MediaType.APPLICATION_JSON).build();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Error serializing customer").build();
+            selected = CustomerField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage()).build());
+        }
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+
+        // Solo las peticiones condicionales consultan antes la versión.
+        Uni<CustomerVersion> current;
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            current = Uni.createFrom().nullItem();
+        } else {
+            current = reactiveService != null
+                ? reactiveService.findVersion(id)
+                : requests.submit(() -> service.findVersion(id));
         }
+        return current.flatMap(version -> {
+            if (version != null && isNotModified(customerTag(id, version.getVersion()), version.getUpdatedAt(),
+                                                 ifNoneMatch, ifModifiedSince)) {
+                return Uni.createFrom().item(Response.notModified(customerTag(id, version.getVersion()))
+                    .lastModified(toDate(version.getUpdatedAt()))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .build());
+            }
+
+            // El cliente completo viene de la caché por identificador; solo se filtra al serializar.
+            Uni<Customer> found = reactiveService != null
+                ? reactiveService.findById(id)
+                : requests.submit(() -> service.findById(id));
+            return found.map(customer -> {
+                if (customer == null) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Customer not found").build();
+                }
+                try {
+                    return Response.ok(body(customer, selected, format), format.getMediaType())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .tag(customer.getVersion() == null ? null : customerTag(id, customer.getVersion()))
+                        .lastModified(toDate(customer.getUpdatedAt()))
+                        .build();
+                } catch (IOException e) {
+                    return errorResponse(e);
+                }
+            }).onFailure().recoverWithItem(this::errorResponse);
+        });
     }
     /**
-     * Obtiene una lista de clientes filtrados por el código de país.
+     * Obtiene los clientes de un país, paginados por identificador igual que `GET /customers`.
      *
-     * @param code Código del país (ISO numérico).
-     * @return Respuesta HTTP con los clientes encontrados o mensaje de error.
+     * @param code   Código del país (ISO numérico).
+     * @param cursor Cursor devuelto en la página anterior (opcional).
+     * @param limit  Número máximo de clientes por página (opcional, limitado por el servidor).
+     * @param fields Campos de cada cliente a devolver, separados por comas (opcional, todos por defecto).
+     * @param ifNoneMatch Etiquetas `ETag` de la página que el cliente ya tiene (opcional).
+     * @param accept      Formatos aceptados por el cliente (JSON por defecto).
+     * @return Respuesta HTTP con los clientes encontrados o mensaje de error; 304 si la página
+     *         no ha cambiado.
      */
     @GET
     @Path("/country/{code}")
-    public Response getCustomersByCountry(@PathParam("code") short code) {
-        if (code <= 0) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Country code must be greater than 0").build();
-        }
+    @Uncompressed // La página en caché ya guarda su copia gzip; el servidor no la vuelve a comprimir
+    public Uni<Response> getCustomersByCountry(
+        @PathParam("code") short code,
+        @QueryParam("cursor") String cursor,
+        @QueryParam("limit") Integer limit,
+        @QueryParam("fields") String fields,
+        @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+        @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+        @HeaderParam(HttpHeaders.ACCEPT) String accept
+    ) {
+        // La URI se lee en el hilo de la petición; el enlace a la página siguiente se construye después.
+        UriBuilder requestUri = uriInfo.getRequestUriBuilder();
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        return requests.submit(() -> {
+            if (code <= 0) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Country code must be greater than 0").build();
+            }
     
-        List<Customer> customers = service.findByCountry(code);
-        if (customers.isEmpty()) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity("No customers found for the given country code").build();
-        }
+            CountryListingCache.EncodedPage page;
+            try {
+                Set<CustomerField> selected = CustomerField.parse(fields);
+                if (ifNoneMatch != null) {
+                    // La etiqueta sale de la página en caché o, si no está, de leer solo
+                    // identificadores y versiones, sin serializar la página.
+                    CountryListingCache.EncodedPage cached =
+                        countryListings.getIfPresent(code, cursor, limit, selected, format);
+                    EntityTag tag = new EntityTag(cached != null ? cached.getEtag() : CountryListingCache.etag(
+                        service.findPageByCountry(code, cursor, limit, Set.of(CustomerField.CUSTOMER_ID)),
+                        selected, format), true);
+                    if (matchesAny(ifNoneMatch, tag)) {
+                        return Response.notModified(tag)
+                            .header(HttpHeaders.VARY, LISTING_VARY).build();
+                    }
+                }
+                page = countryListings.get(code, cursor, limit, selected, format,
+                    () -> service.findPageByCountry(code, cursor, limit, selected));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage()).build();
+            } catch (IOException | RuntimeException e) {
+                // La consulta falló: la caché no guarda nada y se responde 500, no un listado vacío.
+                return errorResponse(e);
+            }
+            if (cursor == null && page.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity("No customers found for the given country code").build();
+            }
     
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String json = objectMapper.writeValueAsString(customers);
-            return Response.ok(json).type(MediaType.APPLICATION_JSON).build();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Error serializing data").build();
-        }
+            // La página ya está serializada: se envían sus bytes, comprimidos si el cliente lo acepta.
+            Response.ResponseBuilder response;
+            if (page.getGzipBody() != null && acceptsGzip(acceptEncoding)) {
+                response = pageResponse(page.getGzipBody(), page.getNextCursor(), requestUri)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            } else {
+                response = pageResponse(page.getBody(), page.getNextCursor(), requestUri);
+            }
+            return response.header(HttpHeaders.VARY, LISTING_VARY)
+                .tag(new EntityTag(page.getEtag(), true))
+                .type(format.getMediaType())
+                .build();
+        });
     }
 
     /**
      * Actualiza un cliente existente.
+     * El país se resuelve y el cliente actual se lee a la vez, dentro del plazo de
+     * `customers.write.timeout`; si no se obtienen a tiempo o el servicio de países no
+     * responde, la respuesta es 503.
      *
      * @param id      Identificador único del cliente.
      * @param email   Nuevo correo electrónico.
@@ -175,7 +579,8 @@ public class CustomerController {
      */
     @PUT
     @Path("/{id}")
-    public Response updateCustomer(
+    @Uncompressed
+    public Uni<Response> updateCustomer(
        @PathParam("id") int id,
         @QueryParam("email") @Email String email,
         @QueryParam("address") @Size(max = 180) String address,
@@ -183,38 +588,114 @@ public class CustomerController {
         @QueryParam("country") Short country
     ) {
         if (id <= 0) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("ID must be greater than 0").build();
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("ID must be greater than 0").build());
         }
 
         if (email != null && !isValidEmail(email)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Invalid email format").build();
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("Invalid email format").build());
         }
 
         if (phone != null && (phone.length() < 10 || phone.length() > 15)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Phone must be between 10 and 15 characters").build();
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("Phone must be between 10 and 15 characters").build());
         }
 
-         // Validación adicional con CountryService
-         if (!countryService.isValidCountryCode(Integer.toString(country))) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Invalid country code").build();
+        // Validación adicional del país y del prefijo: el país se resuelve una sola vez
+        Deadline deadline = service.writeDeadline();
+        Uni<WriteStatus> updated = reactiveService != null
+            ? reactiveService.updateCustomer(id, email, address, phone, country, deadline)
+            : service.updateCustomer(id, email, address, phone, country, deadline);
+        return updated
+            .map(status -> {
+                if (status.isSuccess()) {
+                    return Response.ok().build();
+                } else if (status == WriteStatus.INVALID_COUNTRY) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid country code").build();
+                } else if (status == WriteStatus.COUNTRY_UNAVAILABLE) {
+                    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .entity("Country service unavailable").build();
+                } else if (status == WriteStatus.INVALID_PHONE_PREFIX) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Phone prefix does not match the country").build();
+                } else if (isConflict(status)) {
+                    return Response.status(Response.Status.CONFLICT)
+                        .entity(conflictMessage(status)).build();
+                } else if (status == WriteStatus.NOT_FOUND) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Customer not found").build();
+                } else {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Error updating customer").build();
+                }
+            })
+            .onFailure(TimeoutException.class).recoverWithItem(e -> timeoutResponse());
+    }
+
+    /**
+     * Modifica solo los campos presentes en el cuerpo de un cliente existente.
+     * El país solo se resuelve si viene en el cuerpo. La respuesta incluye el cliente tal como
+     * quedó guardado, por lo que no hace falta volver a consultarlo. Si otra escritura cambia
+     * el país o el teléfono con los que se validó el prefijo, responde `409 Conflict`.
+     *
+     * @param id    Identificador único del cliente.
+     * @param patch Campos a modificar.
+     * @return Respuesta HTTP con el cliente modificado o mensaje de error.
+     */
+    @PATCH
+    @Path("/{id}")
+    @Uncompressed
+    public Uni<Response> patchCustomer(@PathParam("id") int id, @Valid CustomerPatch patch) {
+        if (id <= 0) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("ID must be greater than 0").build());
         }
 
-        if (!countryService.isPhonePrefixForCountry(Integer.toString(country), phone)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Phone prefix does not match the country").build();
+        if (patch == null || patch.isEmpty()) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("At least one field is required").build());
         }
 
-        boolean success = service.updateCustomer(id, email, address, phone, country);
-        if (success) {
-            return Response.ok().build();
-        } else {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Error updating customer").build();
+        if (patch.getEmail() != null && !isValidEmail(patch.getEmail())) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("Invalid email format").build());
         }
+
+        Deadline deadline = service.writeDeadline();
+        Uni<CustomerWriteResult> patched = reactiveService != null
+            ? reactiveService.patchCustomer(id, patch, deadline)
+            : service.patchCustomer(id, patch, deadline);
+        return patched
+            .map(result -> {
+                WriteStatus status = result.getStatus();
+                if (status.isSuccess()) {
+                    return Response.ok(result.getCustomer()).build();
+                } else if (status == WriteStatus.INVALID_COUNTRY) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid country code").build();
+                } else if (status == WriteStatus.COUNTRY_UNAVAILABLE) {
+                    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .entity("Country service unavailable").build();
+                } else if (status == WriteStatus.INVALID_PHONE_PREFIX) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Phone prefix does not match the country").build();
+                } else if (status == WriteStatus.CONFLICT) {
+                    return Response.status(Response.Status.CONFLICT)
+                        .entity("Customer changed while the patch was being validated, retry").build();
+                } else if (isConflict(status)) {
+                    return Response.status(Response.Status.CONFLICT)
+                        .entity(conflictMessage(status)).build();
+                } else if (status == WriteStatus.NOT_FOUND) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Customer not found").build();
+                } else {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Error updating customer").build();
+                }
+            })
+            .onFailure(TimeoutException.class).recoverWithItem(e -> timeoutResponse());
     }
 
     /**
@@ -225,23 +706,149 @@ public class CustomerController {
      */
     @DELETE
     @Path("/{id}")
-    public Response deleteCustomer(@PathParam("id") int id) {
+    @Uncompressed
+    public Uni<Response> deleteCustomer(@PathParam("id") int id) {
         if (id <= 0) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("ID must be greater than 0").build();
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("ID must be greater than 0").build());
         }
 
-        boolean success = service.deleteCustomer(id);
-        if (success) {
-            return Response.noContent().build();
-        } else {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("Error deleting customer").build();
-        }
+        Uni<Boolean> deleted = reactiveService != null
+            ? reactiveService.deleteCustomer(id)
+            : requests.submit(() -> service.deleteCustomer(id));
+        return deleted.map(success -> {
+            if (success) {
+                return Response.noContent().build();
+            } else {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Error deleting customer").build();
+            }
+        }).onFailure().recoverWithItem(this::errorResponse);
     }
 
     // Métodos auxiliares para validación de datos
 
+    /**
+     * Interpreta los identificadores de `ids=`, separados por comas o en parámetros repetidos.
+     *
+     * @throws IllegalArgumentException Si algún identificador no es válido o hay demasiados.
+     */
+    private List<Integer> parseIds(List<String> values) {
+        List<Integer> ids = new ArrayList<>();
+        for (String value : values) {
+            for (String id : value.split(",")) {
+                String trimmed = id.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int parsed;
+                try {
+                    parsed = Integer.parseInt(trimmed);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid customer ID: " + trimmed);
+                }
+                if (parsed <= 0) {
+                    throw new IllegalArgumentException("ID must be greater than 0");
+                }
+                ids.add(parsed);
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one customer ID is required");
+        }
+        if (ids.size() > maxMultiGetSize) {
+            throw new IllegalArgumentException("At most " + maxMultiGetSize + " customer IDs can be requested");
+        }
+        return ids;
+    }
+
+    /**
+     * Etiqueta `ETag` débil de un cliente en una versión: la misma fila puede servirse con
+     * distintos campos o codificaciones.
+     */
+    private static EntityTag customerTag(int customerId, long version) {
+        return new EntityTag(customerId + "-" + version, true);
+    }
+
+    /**
+     * Indica si la copia del cliente sigue vigente según las cabeceras condicionales.
+     * `If-None-Match` tiene prioridad: si está presente, `If-Modified-Since` se ignora.
+     */
+    private static boolean isNotModified(EntityTag tag, Instant lastModified, String ifNoneMatch,
+                                         String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            return matchesAny(ifNoneMatch, tag);
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                .toInstant();
+            // Las fechas HTTP no tienen fracciones de segundo.
+            return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Indica si alguna etiqueta de `If-None-Match` coincide con la actual, con la comparación
+     * débil que corresponde a esta cabecera (se ignora el prefijo `W/`).
+     */
+    private static boolean matchesAny(String ifNoneMatch, EntityTag tag) {
+        String candidates = ifNoneMatch.trim();
+        if (candidates.equals("*")) {
+            return true;
+        }
+        String current = "\"" + tag.getValue() + "\"";
+        for (String candidate : candidates.split(",")) {
+            String opaque = candidate.trim();
+            if (opaque.startsWith("W/")) {
+                opaque = opaque.substring(2);
+            }
+            if (opaque.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Date toDate(Instant instant) {
+        return instant == null ? null : Date.from(instant);
+    }
+
+    /**
+     * Indica si la cabecera `Accept-Encoding` del cliente admite gzip.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" rechaza explícitamente la compresión.
+                return !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si una escritura se rechazó porque el correo o el teléfono ya pertenecen a otro cliente.
+     */
+    private static boolean isConflict(WriteStatus status) {
+        return status == WriteStatus.EMAIL_TAKEN || status == WriteStatus.PHONE_TAKEN;
+    }
+
+    /**
+     * Mensaje de error de una escritura rechazada por un correo o teléfono duplicado.
+     */
+    private static String conflictMessage(WriteStatus status) {
+        return status == WriteStatus.EMAIL_TAKEN ? "Email already exists" : "Phone number already exists";
+    }
+
     /**
      * Valida el formato de una dirección de correo electrónico.
      *
@@ -0,0 +1,40 @@
+package api.customer.interfaces;
+
+import java.util.List;
+
+import api.customer.models.CountryProfile;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Fuente de perfiles de países usada por `CountryService` y `ReactiveCountryService`.
+ * La implementación se elige al compilar con la propiedad `country.source`:
+ * `remote` consulta la API de RestCountries y `embedded` lee un conjunto de datos
+ * incluido en la aplicación.
+ */
+public interface ICountryProfileSource {
+
+    /**
+     * Obtiene el perfil de un país bloqueando al hilo actual hasta tenerlo.
+     *
+     * @param countryCode Código del país, sin espacios.
+     * @return El perfil del país, o `null` si el país no existe.
+     * @throws Exception Si la fuente no pudo consultarse.
+     */
+    CountryProfile load(String countryCode) throws Exception;
+
+    /**
+     * Obtiene el perfil de un país sin bloquear al hilo actual.
+     *
+     * @param countryCode Código del país, sin espacios.
+     * @return Un `Uni` con el perfil del país, o con `null` si el país no existe.
+     */
+    Uni<CountryProfile> loadAsync(String countryCode);
+
+    /**
+     * Obtiene el perfil de todos los países, identificados por su código ISO numérico.
+     *
+     * @return Los perfiles de todos los países.
+     * @throws Exception Si la fuente no pudo consultarse.
+     */
+    List<CountryProfile> loadAll() throws Exception;
+}
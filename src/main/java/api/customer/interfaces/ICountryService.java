@@ -1,6 +1,29 @@
 package api.customer.interfaces;
 
+import java.util.List;
+
+import api.customer.models.CountryProfile;
+
 public interface  ICountryService {
+
+    /**
+     * Obtiene toda la información necesaria de un país con una sola consulta:
+     * validez, prefijo telefónico y gentilicio.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return El perfil del país; si el país no existe o no pudo consultarse,
+     *         un perfil con `isValid()` igual a `false`, y en el segundo caso además con
+     *         `isAvailable()` igual a `false`. Nunca `null`.
+     */
+    CountryProfile getCountryProfile(String countryCode);
+
+    /**
+     * Obtiene el perfil de todos los países conocidos por la fuente de datos de países.
+     *
+     * @return Los perfiles de todos los países, identificados por su código ISO numérico,
+     *         o una lista vacía si la fuente no pudo consultarse.
+     */
+    List<CountryProfile> getAllCountryProfiles();
   
     /**
      * Valida si un código de país es válido.
@@ -1,8 +1,18 @@
 package api.customer.interfaces;
 
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import api.customer.models.Customer;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
 
 /**
  * Interfaz para gestionar operaciones CRUD de clientes en el repositorio.
@@ -10,13 +20,32 @@ import api.customer.models.Customer;
  */
 public interface ICustomerRepository {
 
+    /**
+     * Función que recibe cada cliente leído al recorrer la tabla.
+     * Puede lanzar `IOException` para detener el recorrido, por ejemplo si el cliente HTTP
+     * que recibe la exportación cierra la conexión.
+     */
+    @FunctionalInterface
+    interface CustomerHandler {
+        void accept(Customer customer) throws IOException;
+    }
+
     /**
      * Crea un nuevo cliente en el repositorio.
      *
      * @param customer El cliente a crear.
-     * @return `true` si el cliente fue creado con éxito, de lo contrario `false`.
+     * @return `SUCCESS` si el cliente fue creado, `EMAIL_TAKEN` o `PHONE_TAKEN` si el correo
+     *         o el teléfono ya existen, o `FAILED` si ocurre otro error.
+     */
+    WriteStatus createCustomer(Customer customer);
+
+    /**
+     * Crea varios clientes en una sola transacción: se crean todos o ninguno.
+     *
+     * @param customers Clientes a crear, con su identificador ya asignado.
+     * @throws SQLException Si alguna inserción falla; en ese caso no se crea ninguno.
      */
-    boolean createCustomer(Customer customer);
+    void createCustomers(List<Customer> customers) throws SQLException;
 
     /**
      * Obtiene una lista de todos los clientes en el repositorio.
@@ -33,15 +62,67 @@ public interface ICustomerRepository {
      */
     List<Customer> findByCountry(short country);
 
+    /**
+     * Obtiene una página de clientes activos ordenados por identificador.
+     *
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el resto queda en `null` salvo el identificador,
+     *                        que se lee siempre.
+     * @return Los clientes con identificador mayor que `afterCustomerId`, como máximo `limit`.
+     */
+    List<Customer> findPage(int afterCustomerId, int limit, Set<CustomerField> fields);
+
+    /**
+     * Recorre todos los clientes activos en orden de identificador, entregándolos uno a uno
+     * a medida que se leen, sin cargarlos todos en memoria.
+     *
+     * @param fields  Campos a leer; el identificador se lee siempre.
+     * @param handler Función que recibe cada cliente.
+     * @return Número de clientes recorridos.
+     * @throws SQLException Si la consulta falla.
+     * @throws IOException  Si la función que recibe los clientes falla.
+     */
+    long forEachCustomer(Set<CustomerField> fields, CustomerHandler handler) throws SQLException, IOException;
+
+    /**
+     * Obtiene una página de clientes activos de un país ordenados por identificador.
+     *
+     * @param country         Código del país (ISO numérico).
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Los clientes del país con identificador mayor que `afterCustomerId`, como máximo `limit`.
+     * @throws RuntimeException Si la consulta falla.
+     */
+    List<Customer> findPageByCountry(short country, int afterCustomerId, int limit, Set<CustomerField> fields);
+
     /**
      * Encuentra un cliente por su identificador único.
      *
      * @param customerId Identificador único del cliente.
      * @return Un objeto `Customer` que representa al cliente encontrado,
      *         o `null` si no se encuentra.
+     * @throws RuntimeException Si la consulta falla.
      */
     Customer findById(int customerId);
 
+    /**
+     * Obtiene solo la versión y la fecha de modificación de un cliente, sin el resto de columnas.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return La versión del cliente, o `null` si no existe o está deshabilitado.
+     */
+    CustomerVersion findVersion(int customerId);
+
+    /**
+     * Encuentra varios clientes por sus identificadores.
+     *
+     * @param customerIds Identificadores de los clientes.
+     * @return Los clientes encontrados por identificador; los inexistentes o deshabilitados no aparecen.
+     */
+    Map<Integer, Customer> findByIds(Collection<Integer> customerIds);
+
     /**
      * Actualiza la información de un cliente en el repositorio.
      *
@@ -51,9 +132,27 @@ public interface ICustomerRepository {
      * @param phone      Nuevo número de teléfono del cliente.
      * @param country    Nuevo código del país del cliente.
      * @param demonym    Nuevo gentilicio del cliente.
-     * @return `true` si el cliente fue actualizado con éxito, de lo contrario `false`.
+     * @return `SUCCESS` si el cliente fue actualizado, `EMAIL_TAKEN` o `PHONE_TAKEN` si el correo
+     *         o el teléfono pertenecen a otro cliente, `NOT_FOUND` si el cliente no existe,
+     *         o `FAILED` si ocurre otro error.
      */
-    boolean updateCustomer(int customerId, String email, String address, String phone, short country, String demonym);
+    WriteStatus updateCustomer(int customerId, String email, String address, String phone, short country, String demonym);
+
+    /**
+     * Modifica solo los campos presentes de un cliente.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param patch      Campos a modificar.
+     * @param demonym    Gentilicio del país nuevo, o `null` si el país no cambia.
+     * @param expectedCountry País que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @param expectedPhone   Teléfono que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @return El cliente tal como quedó guardado si se modificó; si no, `EMAIL_TAKEN` o
+     *         `PHONE_TAKEN` si el correo o el teléfono pertenecen a otro cliente, `CONFLICT`
+     *         si el país o el teléfono ya no son los esperados, `NOT_FOUND` si el cliente no
+     *         existe, o `FAILED` si ocurre otro error.
+     */
+    CustomerWriteResult patchCustomer(int customerId, CustomerPatch patch, String demonym,
+                                      Short expectedCountry, String expectedPhone);
 
     /**
      * Elimina un cliente del repositorio.
@@ -70,6 +169,30 @@ public interface ICustomerRepository {
      */
     Integer generateCustomerId();
 
+    /**
+     * Reserva un bloque de identificadores consecutivos para nuevos clientes.
+     *
+     * @param count Número de identificadores a reservar.
+     * @return El primer identificador del bloque; el bloque es `[primero, primero + count)`.
+     */
+    int generateCustomerIds(int count);
+
+    /**
+     * Obtiene, de entre los correos proporcionados, los que ya existen en el repositorio.
+     *
+     * @param emails Correos electrónicos a verificar.
+     * @return Los correos que ya existen.
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Obtiene, de entre los teléfonos proporcionados, los que ya existen en el repositorio.
+     *
+     * @param phones Números de teléfono a verificar.
+     * @return Los teléfonos que ya existen.
+     */
+    Set<String> findExistingPhones(Collection<String> phones);
+
     /**
      * Verifica si un correo electrónico ya existe en el repositorio.
      *
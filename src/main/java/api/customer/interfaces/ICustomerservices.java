@@ -1,8 +1,22 @@
 package api.customer.interfaces;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
+import api.customer.concurrent.Deadline;
+import api.customer.models.CountryProfile;
 import api.customer.models.Customer;
+import api.customer.models.CustomerBatchResult;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerLookupResult;
+import api.customer.models.CustomerPage;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
+import io.smallrye.mutiny.Uni;
 
 /**
  * Interfaz que define los servicios relacionados con la gestión de clientes.
@@ -10,20 +24,35 @@ import api.customer.models.Customer;
 public interface ICustomerservices {
 
     /**
-     * Crea un nuevo cliente con los datos proporcionados.
+     * Crea un nuevo cliente usando un perfil de país ya resuelto,
+     * sin volver a consultar la fuente de datos de países.
      *
-     * @param firstname       Primer nombre del cliente.
-     * @param middlename      Segundo nombre del cliente (opcional).
-     * @param lastname        Primer apellido del cliente.
-     * @param secondlastname  Segundo apellido del cliente (opcional).
-     * @param email           Correo electrónico del cliente.
-     * @param address         Dirección del cliente.
-     * @param phone           Número de teléfono del cliente.
-     * @param country         Código del país del cliente (ISO numérico).
-     * @param demonym         Gentilicio del país del cliente.
-     * @return `true` si el cliente fue creado con éxito, de lo contrario `false`.
+     * @param customer El cliente a crear.
+     * @param profile  Perfil del país del cliente.
+     * @return `SUCCESS` si el cliente fue creado, `EMAIL_TAKEN` o `PHONE_TAKEN` si el correo
+     *         o el teléfono ya existen, `INVALID_COUNTRY` si el país no es válido,
+     *         `COUNTRY_UNAVAILABLE` si el país no pudo consultarse, o `FAILED` si ocurre otro error.
      */
-    boolean createCustomer(Customer customer);
+    WriteStatus createCustomer(Customer customer, CountryProfile profile);
+
+    /**
+     * Crea un nuevo cliente resolviendo su país y su identificador a la vez, dentro de un plazo.
+     *
+     * @param customer El cliente a crear.
+     * @param deadline Plazo de la operación completa.
+     * @return Un `Uni` con el resultado de la creación; falla con `TimeoutException` si el
+     *         plazo expira antes de empezar a guardar el cliente.
+     */
+    Uni<WriteStatus> createCustomer(Customer customer, Deadline deadline);
+
+    /**
+     * Crea varios clientes en una sola operación. Los clientes válidos se guardan juntos
+     * en una transacción; los que no lo son se rechazan sin afectar al resto.
+     *
+     * @param customers Clientes a crear.
+     * @return Un resultado por cliente, en el mismo orden que la petición.
+     */
+    List<CustomerBatchResult> createCustomers(List<Customer> customers);
 
     /**
      * Obtiene una lista de todos los clientes registrados.
@@ -40,6 +69,42 @@ public interface ICustomerservices {
      */
     List<Customer> findByCountry(short country);
 
+    /**
+     * Obtiene una página de clientes ordenados por identificador.
+     *
+     * @param cursor Cursor devuelto en la página anterior, o `null` para la primera página.
+     * @param limit  Tamaño de página solicitado, o `null` para el tamaño por defecto;
+     *               se limita al tamaño máximo configurado.
+     * @param fields Campos a leer de cada cliente.
+     * @return La página de clientes y el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor o el tamaño de página no son válidos.
+     */
+    CustomerPage findPage(String cursor, Integer limit, Set<CustomerField> fields);
+
+    /**
+     * Recorre todos los clientes activos sin cargarlos en memoria, para exportaciones.
+     *
+     * @param fields  Campos a leer de cada cliente.
+     * @param handler Función que recibe cada cliente a medida que se lee.
+     * @return Número de clientes recorridos.
+     * @throws SQLException Si la consulta falla.
+     * @throws IOException  Si la función que recibe los clientes falla.
+     */
+    long forEachCustomer(Set<CustomerField> fields, ICustomerRepository.CustomerHandler handler) throws SQLException, IOException;
+
+    /**
+     * Obtiene una página de clientes de un país ordenados por identificador.
+     *
+     * @param country Código del país (ISO numérico).
+     * @param cursor  Cursor devuelto en la página anterior, o `null` para la primera página.
+     * @param limit   Tamaño de página solicitado, o `null` para el tamaño por defecto;
+     *                se limita al tamaño máximo configurado.
+     * @param fields  Campos a leer de cada cliente.
+     * @return La página de clientes y el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor o el tamaño de página no son válidos.
+     */
+    CustomerPage findPageByCountry(short country, String cursor, Integer limit, Set<CustomerField> fields);
+
     /**
      * Encuentra un cliente por su identificador único.
      *
@@ -50,16 +115,69 @@ public interface ICustomerservices {
     Customer findById(int customerId);
 
     /**
-     * Actualiza la información de un cliente registrado.
+     * Obtiene la versión y la fecha de modificación de un cliente, sin leer sus datos.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return La versión del cliente, o `null` si no se encuentra.
+     */
+    CustomerVersion findVersion(int customerId);
+
+    /**
+     * Encuentra varios clientes por sus identificadores.
+     *
+     * @param customerIds Identificadores de los clientes, posiblemente repetidos.
+     * @return Un resultado por identificador, en el mismo orden, que indica si se encontró.
+     */
+    List<CustomerLookupResult> findByIds(List<Integer> customerIds);
+
+    /**
+     * Actualiza la información de un cliente registrado usando un perfil de país ya resuelto,
+     * sin volver a consultar la fuente de datos de países.
      *
      * @param customerId Identificador único del cliente a actualizar.
      * @param email      Nuevo correo electrónico del cliente.
      * @param address    Nueva dirección del cliente.
      * @param phone      Nuevo número de teléfono del cliente.
      * @param country    Nuevo código del país del cliente.
-     * @return `true` si el cliente fue actualizado con éxito, de lo contrario `false`.
+     * @param profile    Perfil del país, obtenido de `ICountryService.getCountryProfile`.
+     * @return `SUCCESS` si el cliente fue actualizado, `EMAIL_TAKEN` o `PHONE_TAKEN` si el correo
+     *         o el teléfono pertenecen a otro cliente, `NOT_FOUND` si el cliente no existe,
+     *         `INVALID_COUNTRY` si el país no es válido, `COUNTRY_UNAVAILABLE` si el país no pudo
+     *         consultarse, o `FAILED` si ocurre otro error.
+     */
+    WriteStatus updateCustomer(int customerId, String email, String address, String phone, short country,
+                               CountryProfile profile);
+
+    /**
+     * Actualiza la información de un cliente resolviendo el país y leyendo el cliente actual
+     * a la vez, dentro de un plazo.
+     *
+     * @param customerId Identificador único del cliente a actualizar.
+     * @param email      Nuevo correo electrónico del cliente.
+     * @param address    Nueva dirección del cliente.
+     * @param phone      Nuevo número de teléfono del cliente.
+     * @param country    Nuevo código del país del cliente.
+     * @param deadline   Plazo de la operación completa.
+     * @return Un `Uni` con el resultado de la actualización, incluido `INVALID_PHONE_PREFIX` si
+     *         el teléfono no corresponde al país; falla con `TimeoutException` si el plazo expira
+     *         antes de empezar a guardar los cambios.
+     */
+    Uni<WriteStatus> updateCustomer(int customerId, String email, String address, String phone, short country,
+                                    Deadline deadline);
+
+    /**
+     * Modifica solo los campos presentes de un cliente, dentro de un plazo.
+     *
+     * @param customerId Identificador único del cliente a modificar.
+     * @param patch      Campos a modificar; los ausentes conservan su valor.
+     * @param deadline   Plazo de la operación completa.
+     * @return Un `Uni` con el cliente tal como quedó guardado si se modificó; si no, con
+     *         `EMAIL_TAKEN`, `PHONE_TAKEN`, `NOT_FOUND`, `INVALID_COUNTRY`, `COUNTRY_UNAVAILABLE`,
+     *         `INVALID_PHONE_PREFIX`,
+     *         `CONFLICT` si el país o el teléfono validados cambiaron antes de guardar, o `FAILED`.
+     *         Falla con `TimeoutException` si el plazo expira antes de empezar a guardar los cambios.
      */
-    boolean updateCustomer(int customerId, String email, String address, String phone, short country);
+    Uni<CustomerWriteResult> patchCustomer(int customerId, CustomerPatch patch, Deadline deadline);
 
     /**
      * Elimina un cliente registrado.
@@ -0,0 +1,47 @@
+package api.customer.interfaces;
+
+import api.customer.models.CountryProfile;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Variante no bloqueante de `ICountryService`.
+ * Los resultados se entregan como `Uni`, de modo que el hilo que llama queda libre
+ * mientras se consulta la fuente de datos de países.
+ */
+public interface IReactiveCountryService {
+
+    /**
+     * Obtiene toda la información necesaria de un país con una sola consulta.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con el perfil del país; si el país no existe o no pudo consultarse,
+     *         un perfil con `isValid()` igual a `false`, y en el segundo caso además con
+     *         `isAvailable()` igual a `false`. Nunca falla ni emite `null`.
+     */
+    Uni<CountryProfile> getCountryProfile(String countryCode);
+
+    /**
+     * Valida si un código de país es válido.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con `true` si el código de país es válido, de lo contrario `false`.
+     */
+    Uni<Boolean> isValidCountryCode(String countryCode);
+
+    /**
+     * Valida si un prefijo telefónico pertenece al código de país proporcionado.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @param phonePrefix Prefijo telefónico (ejemplo: "809").
+     * @return Un `Uni` con `true` si el prefijo pertenece al país, de lo contrario `false`.
+     */
+    Uni<Boolean> isPhonePrefixForCountry(String countryCode, String phonePrefix);
+
+    /**
+     * Obtiene el gentilicio de un país dado su código de país.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con el gentilicio en masculino del país, o con `null` si no está disponible.
+     */
+    Uni<String> getDemonym(String countryCode);
+}
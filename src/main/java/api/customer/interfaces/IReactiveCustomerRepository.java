@@ -0,0 +1,125 @@
+package api.customer.interfaces;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import api.customer.models.Customer;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Variante no bloqueante de `ICustomerRepository`.
+ * Los resultados se entregan como `Uni`, de modo que ningún hilo queda bloqueado mientras
+ * la base de datos responde y las operaciones pueden encadenarse en el hilo de eventos.
+ * Cubre las operaciones de los endpoints por cliente y de los listados paginados; las cargas
+ * masivas y la exportación siguen usando `ICustomerRepository`.
+ */
+public interface IReactiveCustomerRepository {
+
+    /**
+     * Crea un nuevo cliente en el repositorio.
+     *
+     * @param customer El cliente a crear, con su identificador ya asignado.
+     * @return Un `Uni` con `SUCCESS` si el cliente fue creado, `EMAIL_TAKEN` o `PHONE_TAKEN` si
+     *         el correo o el teléfono ya existen, o `FAILED` si ocurre otro error.
+     */
+    Uni<WriteStatus> createCustomer(Customer customer);
+
+    /**
+     * Obtiene una página de clientes activos ordenados por identificador.
+     *
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Un `Uni` con los clientes con identificador mayor que `afterCustomerId`, como máximo `limit`.
+     */
+    Uni<List<Customer>> findPage(int afterCustomerId, int limit, Set<CustomerField> fields);
+
+    /**
+     * Obtiene una página de clientes activos de un país ordenados por identificador.
+     *
+     * @param country         Código del país (ISO numérico).
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Un `Uni` con los clientes del país con identificador mayor que `afterCustomerId`,
+     *         como máximo `limit`.
+     */
+    Uni<List<Customer>> findPageByCountry(short country, int afterCustomerId, int limit, Set<CustomerField> fields);
+
+    /**
+     * Encuentra un cliente por su identificador único.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con el cliente, o con `null` si no existe o está deshabilitado.
+     */
+    Uni<Customer> findById(int customerId);
+
+    /**
+     * Obtiene solo la versión y la fecha de modificación de un cliente.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con la versión, o con `null` si no existe o está deshabilitado.
+     */
+    Uni<CustomerVersion> findVersion(int customerId);
+
+    /**
+     * Encuentra varios clientes por sus identificadores.
+     *
+     * @param customerIds Identificadores de los clientes.
+     * @return Un `Uni` con los clientes encontrados por identificador; los inexistentes o
+     *         deshabilitados no aparecen. Falla si la consulta falla.
+     */
+    Uni<Map<Integer, Customer>> findByIds(Collection<Integer> customerIds);
+
+    /**
+     * Actualiza la información de un cliente en el repositorio.
+     *
+     * @param customerId Identificador único del cliente a actualizar.
+     * @param email      Nuevo correo electrónico del cliente.
+     * @param address    Nueva dirección del cliente.
+     * @param phone      Nuevo número de teléfono del cliente.
+     * @param country    Nuevo código del país del cliente.
+     * @param demonym    Nuevo gentilicio del cliente.
+     * @return Un `Uni` con `SUCCESS` si el cliente fue actualizado, `EMAIL_TAKEN` o `PHONE_TAKEN`
+     *         si el correo o el teléfono pertenecen a otro cliente, `NOT_FOUND` si el cliente no
+     *         existe, o `FAILED` si ocurre otro error.
+     */
+    Uni<WriteStatus> updateCustomer(int customerId, String email, String address, String phone, short country,
+                                    String demonym);
+
+    /**
+     * Modifica solo los campos presentes de un cliente.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param patch      Campos a modificar.
+     * @param demonym    Gentilicio del país nuevo, o `null` si el país no cambia.
+     * @param expectedCountry País que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @param expectedPhone   Teléfono que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @return Un `Uni` con el cliente tal como quedó guardado si se modificó; si no, con
+     *         `EMAIL_TAKEN`, `PHONE_TAKEN`, `CONFLICT`, `NOT_FOUND` o `FAILED`.
+     */
+    Uni<CustomerWriteResult> patchCustomer(int customerId, CustomerPatch patch, String demonym,
+                                           Short expectedCountry, String expectedPhone);
+
+    /**
+     * Elimina un cliente del repositorio.
+     *
+     * @param customerId Identificador único del cliente a eliminar.
+     * @return Un `Uni` con `true` si el cliente fue eliminado con éxito, de lo contrario `false`.
+     */
+    Uni<Boolean> deleteCustomer(int customerId);
+
+    /**
+     * Genera un identificador único para un nuevo cliente.
+     *
+     * @return Un `Uni` con el nuevo identificador. Falla si no puede reservarse.
+     */
+    Uni<Integer> generateCustomerId();
+}
@@ -0,0 +1,145 @@
+package api.customer.models;
+
+import java.util.List;
+
+/**
+ * Información de un país necesaria para validar y completar los datos de un cliente.
+ * Se construye a partir de una única consulta a la fuente de datos de países y es inmutable,
+ * por lo que puede compartirse entre hilos y almacenarse en caché.
+ */
+public final class CountryProfile {
+
+    private final String code; // Código con el que se consultó el país
+    private final boolean valid; // Indica si el país existe
+    private final boolean available; // `false` si la fuente de datos de países no respondió
+    private final String dialRoot; // Raíz del prefijo telefónico internacional (ejemplo: "+1")
+    private final List<String> dialSuffixes; // Sufijos del prefijo telefónico (ejemplo: "809")
+    private final String demonym; // Gentilicio en inglés (masculino)
+
+    /**
+     * Crea el perfil de un país existente.
+     *
+     * @param code         Código con el que se consultó el país.
+     * @param dialRoot     Raíz del prefijo telefónico internacional, o `null` si no tiene.
+     * @param dialSuffixes Sufijos del prefijo telefónico.
+     * @param demonym      Gentilicio en inglés (masculino), o `null` si no está disponible.
+     */
+    public CountryProfile(String code, String dialRoot, List<String> dialSuffixes, String demonym) {
+        this(code, true, true, dialRoot, dialSuffixes, demonym);
+    }
+
+    private CountryProfile(String code, boolean valid, boolean available, String dialRoot, List<String> dialSuffixes,
+                           String demonym) {
+        this.code = code;
+        this.valid = valid;
+        this.available = available;
+        this.dialRoot = dialRoot;
+        this.dialSuffixes = dialSuffixes == null ? List.of() : List.copyOf(dialSuffixes);
+        this.demonym = demonym;
+    }
+
+    /**
+     * Crea el perfil de un país inexistente.
+     *
+     * @param code Código con el que se consultó el país.
+     * @return Un perfil no válido, sin prefijos ni gentilicio.
+     */
+    public static CountryProfile invalid(String code) {
+        return new CountryProfile(code, false, true, null, List.of(), null);
+    }
+
+    /**
+     * Crea el perfil de un país que no pudo resolverse porque la fuente de datos de países
+     * falló, expiró o tiene el cortocircuito abierto. No se guarda en caché.
+     *
+     * @param code Código con el que se consultó el país.
+     * @return Un perfil no válido y no disponible, sin prefijos ni gentilicio.
+     */
+    public static CountryProfile unavailable(String code) {
+        return new CountryProfile(code, false, false, null, List.of(), null);
+    }
+
+    /**
+     * Valida si un número de teléfono empieza por alguno de los sufijos del prefijo del país.
+     * Los caracteres que no son dígitos (espacios, guiones, paréntesis) se ignoran y, si el
+     * teléfono empieza por "+", se interpreta en formato internacional completo (raíz + sufijo),
+     * igual que en `DialPrefixTrie.matches`.
+     *
+     * @param phone Número de teléfono sin la raíz internacional (ejemplo: "809-555-1234")
+     *              o con ella precedida de "+" (ejemplo: "+1 809 555 1234").
+     * @return `true` si el teléfono corresponde al país, de lo contrario `false`.
+     */
+    public boolean matchesPhone(String phone) {
+        if (!valid || dialRoot == null || phone == null) {
+            return false;
+        }
+        String digits = digits(phone);
+        if (digits.isEmpty()) {
+            return false;
+        }
+        String prefix = phone.strip().startsWith("+") ? digits(dialRoot) : "";
+        for (String suffix : dialSuffixes) {
+            if (digits.startsWith(prefix + digits(suffix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene solo los dígitos ASCII de un texto.
+     */
+    private static String digits(String text) {
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * @return Código con el que se consultó el país.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return `true` si el país existe, de lo contrario `false`.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return `false` si no se sabe si el país existe porque la fuente de datos de países
+     *         no respondió, de lo contrario `true`.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @return Raíz del prefijo telefónico internacional, o `null` si no tiene.
+     */
+    public String getDialRoot() {
+        return dialRoot;
+    }
+
+    /**
+     * @return Sufijos del prefijo telefónico (lista inmutable).
+     */
+    public List<String> getDialSuffixes() {
+        return dialSuffixes;
+    }
+
+    /**
+     * @return Gentilicio en inglés (masculino), o `null` si no está disponible.
+     */
+    public String getDemonym() {
+        return demonym;
+    }
+}
@@ -1,5 +1,8 @@
 package api.customer.models;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -65,6 +68,12 @@ public class Customer {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY) // Solo visible en las respuestas
     private Boolean disable; // Indicador de si el cliente está deshabilitado (true o false)
 
+    @JsonIgnore // Se expone en las cabeceras `ETag` y `Last-Modified`, no en el cuerpo
+    private Long version; // Versión de la fila; cada escritura la incrementa
+
+    @JsonIgnore
+    private Instant updatedAt; // Fecha de la última modificación (UTC)
+
     // Getters y Setters
 
 // Getters y Setters
@@ -267,4 +276,40 @@ public class Customer {
         this.disable = disable;
     }
 
+    /**
+     * Obtiene la versión de la fila del cliente.
+     *
+     * @return Versión de la fila, o `null` si no se leyó.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión de la fila del cliente.
+     *
+     * @param version Versión de la fila.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Obtiene la fecha de la última modificación del cliente.
+     *
+     * @return Fecha de la última modificación, o `null` si no se leyó.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Establece la fecha de la última modificación del cliente.
+     *
+     * @param updatedAt Fecha de la última modificación.
+     */
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
 }
@@ -0,0 +1,77 @@
+package api.customer.models;
+
+/**
+ * Resultado de la creación de un cliente dentro de una carga masiva.
+ * Cada resultado se corresponde, por su posición, con un cliente de la petición.
+ */
+public final class CustomerBatchResult {
+
+    /**
+     * Estado final de un cliente de la carga.
+     */
+    public enum Status {
+        CREATED, // El cliente se creó
+        INVALID, // Los datos del cliente no son válidos
+        DUPLICATE, // El correo o el teléfono ya existen, o se repiten en la carga
+        FAILED // El cliente era válido pero no pudo guardarse
+    }
+
+    private final int index; // Posición del cliente en la petición
+    private final Status status; // Estado final del cliente
+    private final Integer customerId; // Identificador asignado, solo si se creó
+    private final String message; // Motivo del error, o `null` si se creó
+
+    private CustomerBatchResult(int index, Status status, Integer customerId, String message) {
+        this.index = index;
+        this.status = status;
+        this.customerId = customerId;
+        this.message = message;
+    }
+
+    /**
+     * @param index      Posición del cliente en la petición.
+     * @param customerId Identificador asignado.
+     * @return El resultado de un cliente creado.
+     */
+    public static CustomerBatchResult created(int index, int customerId) {
+        return new CustomerBatchResult(index, Status.CREATED, customerId, null);
+    }
+
+    /**
+     * @param index   Posición del cliente en la petición.
+     * @param status  Estado del error.
+     * @param message Motivo del error.
+     * @return El resultado de un cliente que no se creó.
+     */
+    public static CustomerBatchResult rejected(int index, Status status, String message) {
+        return new CustomerBatchResult(index, status, null, message);
+    }
+
+    /**
+     * @return Posición del cliente en la petición.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Estado final del cliente.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Identificador asignado, o `null` si el cliente no se creó.
+     */
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * @return Motivo del error, o `null` si el cliente se creó.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,27 @@
+package api.customer.models;
+
+import java.util.Set;
+
+/**
+ * Evento CDI que se emite después de crear, actualizar o eliminar clientes.
+ * Indica los países cuyo listado de clientes pudo cambiar, para que las cachés
+ * derivadas de esos listados se invaliden.
+ */
+public final class CustomerChangedEvent {
+
+    private final Set<Short> countries; // Países afectados por la escritura
+
+    /**
+     * @param countries Países cuyo listado de clientes pudo cambiar.
+     */
+    public CustomerChangedEvent(Set<Short> countries) {
+        this.countries = Set.copyOf(countries);
+    }
+
+    /**
+     * @return Países cuyo listado de clientes pudo cambiar (conjunto inmutable).
+     */
+    public Set<Short> getCountries() {
+        return countries;
+    }
+}
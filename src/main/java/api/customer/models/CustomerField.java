@@ -0,0 +1,212 @@
+package api.customer.models;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Campos de un cliente que pueden pedirse con el parámetro `fields=` de los endpoints de lectura.
+ * Cada campo conoce su nombre en JSON, su columna en la tabla `customer` y cómo leerse de un
+ * `ResultSet`, de modo que la consulta solo trae las columnas pedidas y el mapeo solo
+ * rellena esos campos.
+ */
+public enum CustomerField {
+    CUSTOMER_ID("customerId", "customerid") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setCustomerId(resultSet.getInt(column));
+        }
+    },
+    FIRST_NAME("firstName", "firstname") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setFirstName(resultSet.getString(column));
+        }
+    },
+    MIDDLE_NAME("middleName", "middlename") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setMiddleName(resultSet.getString(column));
+        }
+    },
+    LAST_NAME("lastName", "lastname") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setLastName(resultSet.getString(column));
+        }
+    },
+    SECOND_LAST_NAME("secondLastName", "secondlastname") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setSecondLastName(resultSet.getString(column));
+        }
+    },
+    EMAIL("email", "email") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setEmail(resultSet.getString(column));
+        }
+    },
+    ADDRESS("address", "address") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setAddress(resultSet.getString(column));
+        }
+    },
+    PHONE("phone", "phone") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setPhone(resultSet.getString(column));
+        }
+    },
+    COUNTRY("country", "country") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setCountry(resultSet.getShort(column));
+        }
+    },
+    DEMONYM("demonym", "demonym") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setDemonym(resultSet.getString(column));
+        }
+    },
+    DISABLE("disable", "disable") {
+        @Override
+        void read(ResultSet resultSet, Customer customer) throws SQLException {
+            customer.setDisable(resultSet.getBoolean(column));
+        }
+    };
+
+    /**
+     * Columnas de control que se leen siempre junto al identificador: la versión de la fila y
+     * la fecha de su última modificación, guardada en UTC.
+     */
+    public static final String VERSION_COLUMN = "version";
+    public static final String UPDATED_AT_COLUMN = "updated_at";
+
+    /**
+     * Todos los campos del cliente (conjunto inmutable).
+     */
+    public static final Set<CustomerField> ALL = Collections.unmodifiableSet(EnumSet.allOf(CustomerField.class));
+
+    final String jsonName; // Nombre de la propiedad en JSON
+    final String column; // Columna de la tabla `customer`
+
+    CustomerField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    /**
+     * Copia el valor de la columna del campo desde la fila actual al cliente.
+     */
+    abstract void read(ResultSet resultSet, Customer customer) throws SQLException;
+
+    /**
+     * @return Nombre de la propiedad en JSON.
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * @return Columna de la tabla `customer`.
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Interpreta el valor del parámetro `fields=`: nombres de propiedades JSON separados por comas,
+     * sin distinguir mayúsculas (ejemplo: "customerId,firstName,lastName").
+     *
+     * @param fields Valor del parámetro, o `null` para todos los campos.
+     * @return Los campos pedidos, o {@link #ALL} si el parámetro está vacío.
+     * @throws IllegalArgumentException Si algún nombre no corresponde a un campo del cliente.
+     */
+    public static Set<CustomerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<CustomerField> parsed = EnumSet.noneOf(CustomerField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(fromJsonName(trimmed));
+        }
+        return parsed.isEmpty() || parsed.size() == ALL.size() ? ALL : Collections.unmodifiableSet(parsed);
+    }
+
+    private static CustomerField fromJsonName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (CustomerField field : values()) {
+            if (field.jsonName.toLowerCase(Locale.ROOT).equals(lower)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+
+    /**
+     * Construye la lista de columnas de un `SELECT` para los campos pedidos.
+     * Siempre incluye `customerid`, necesario para ordenar y para el cursor de paginación,
+     * y la versión y fecha de modificación de la fila, de las que salen las etiquetas `ETag`.
+     *
+     * @param fields Campos pedidos.
+     * @return Columnas separadas por comas, en el orden de la tabla.
+     */
+    public static String columns(Set<CustomerField> fields) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (CustomerField field : values()) {
+            if (field == CUSTOMER_ID || fields.contains(field)) {
+                columns.add(field.column);
+            }
+            if (field == CUSTOMER_ID) {
+                columns.add(VERSION_COLUMN).add(UPDATED_AT_COLUMN);
+            }
+        }
+        return columns.toString();
+    }
+
+    /**
+     * Crea un cliente con los campos pedidos leídos de la fila actual; el resto queda en `null`.
+     * El identificador, la versión y la fecha de modificación se leen siempre.
+     *
+     * @param resultSet Resultado de una consulta hecha con {@link #columns(Set)}.
+     * @param fields    Campos pedidos.
+     * @return El cliente con los campos pedidos.
+     * @throws SQLException Si ocurre algún error al leer la fila.
+     */
+    public static Customer read(ResultSet resultSet, Set<CustomerField> fields) throws SQLException {
+        Customer customer = new Customer();
+        CUSTOMER_ID.read(resultSet, customer);
+        customer.setVersion(resultSet.getLong(VERSION_COLUMN));
+        customer.setUpdatedAt(toInstant(resultSet.getObject(UPDATED_AT_COLUMN, LocalDateTime.class)));
+        for (CustomerField field : fields) {
+            if (field != CUSTOMER_ID) {
+                field.read(resultSet, customer);
+            }
+        }
+        return customer;
+    }
+
+    /**
+     * Convierte una fecha de la columna `updated_at`, guardada en UTC, en un instante.
+     *
+     * @param utc Fecha leída, o `null`.
+     * @return El instante, o `null` si no hay fecha.
+     */
+    public static Instant toInstant(LocalDateTime utc) {
+        return utc == null ? null : utc.toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,58 @@
+package api.customer.models;
+
+/**
+ * Resultado de la búsqueda de un cliente dentro de una consulta de varios identificadores.
+ * Cada resultado se corresponde, por su posición, con un identificador de la petición.
+ */
+public final class CustomerLookupResult {
+
+    /**
+     * Estado de la búsqueda de un identificador.
+     */
+    public enum Status {
+        FOUND, // El cliente existe y está activo
+        NOT_FOUND // El cliente no existe o está deshabilitado
+    }
+
+    private final int customerId; // Identificador pedido
+    private final Status status; // Estado de la búsqueda
+    private final Customer customer; // Cliente encontrado, o `null` si no existe
+
+    private CustomerLookupResult(int customerId, Status status, Customer customer) {
+        this.customerId = customerId;
+        this.status = status;
+        this.customer = customer;
+    }
+
+    /**
+     * @param customerId Identificador pedido.
+     * @param customer   Cliente encontrado, o `null` si no existe.
+     * @return El resultado de la búsqueda del identificador.
+     */
+    public static CustomerLookupResult of(int customerId, Customer customer) {
+        return customer == null
+            ? new CustomerLookupResult(customerId, Status.NOT_FOUND, null)
+            : new CustomerLookupResult(customerId, Status.FOUND, customer);
+    }
+
+    /**
+     * @return Identificador pedido.
+     */
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * @return Estado de la búsqueda.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Cliente encontrado, o `null` si no existe o está deshabilitado.
+     */
+    public Customer getCustomer() {
+        return customer;
+    }
+}
@@ -0,0 +1,79 @@
+package api.customer.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Página de clientes obtenida por paginación por clave (keyset) sobre `customerid`.
+ * El cursor de la página siguiente es opaco para el cliente: codifica el último
+ * identificador devuelto y solo se interpreta en el servidor.
+ */
+public final class CustomerPage {
+
+    private static final String CURSOR_PREFIX = "c1:"; // Versión del formato del cursor
+
+    private final List<Customer> customers; // Clientes de la página, ordenados por identificador
+    private final String nextCursor; // Cursor de la página siguiente, o `null` si es la última
+
+    /**
+     * Crea una página de clientes.
+     *
+     * @param customers  Clientes de la página, ordenados por identificador.
+     * @param nextCursor Cursor de la página siguiente, o `null` si es la última.
+     */
+    public CustomerPage(List<Customer> customers, String nextCursor) {
+        this.customers = List.copyOf(customers);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Codifica el cursor que continúa después de un cliente.
+     *
+     * @param lastCustomerId Identificador del último cliente devuelto.
+     * @return El cursor opaco.
+     */
+    public static String encodeCursor(int lastCustomerId) {
+        byte[] raw = (CURSOR_PREFIX + lastCustomerId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #encodeCursor(int)}.
+     *
+     * @param cursor Cursor recibido, o `null` para la primera página.
+     * @return El identificador tras el que empieza la página; `0` para la primera página.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(CURSOR_PREFIX)) {
+                int lastCustomerId = Integer.parseInt(raw.substring(CURSOR_PREFIX.length()));
+                if (lastCustomerId >= 0) {
+                    return lastCustomerId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 o número mal formado; se informa abajo como cursor no válido.
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    /**
+     * @return Clientes de la página (lista inmutable).
+     */
+    public List<Customer> getCustomers() {
+        return customers;
+    }
+
+    /**
+     * @return Cursor de la página siguiente, o `null` si es la última.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
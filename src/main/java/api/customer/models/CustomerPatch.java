@@ -0,0 +1,90 @@
+package api.customer.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Cambios parciales de un cliente (`PATCH /customers/{id}`).
+ * Solo se modifican los campos presentes; un campo ausente o `null` conserva su valor,
+ * ya que ninguna de estas columnas admite `null`.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)  // Ignorar campos no definidos en el modelo
+public class CustomerPatch {
+
+    @Email(message = "Email must be a valid email address")
+    @Size(max = 35, message = "Email must not exceed 35 characters")
+    private String email; // Nuevo correo electrónico
+
+    @Size(max = 180, message = "Address must not exceed 180 characters")
+    private String address; // Nueva dirección
+
+    @Size(min = 10, max = 15, message = "Phone must be between 10 and 15 characters")
+    private String phone; // Nuevo número de teléfono
+
+    private Short country; // Nuevo código del país (ISO numérico)
+
+    /**
+     * @return `true` si no hay ningún campo que cambiar.
+     */
+    public boolean isEmpty() {
+        return email == null && address == null && phone == null && country == null;
+    }
+
+    /**
+     * @return Nuevo correo electrónico, o `null` si no cambia.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * @param email Nuevo correo electrónico.
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * @return Nueva dirección, o `null` si no cambia.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * @param address Nueva dirección.
+     */
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    /**
+     * @return Nuevo número de teléfono, o `null` si no cambia.
+     */
+    public String getPhone() {
+        return phone;
+    }
+
+    /**
+     * @param phone Nuevo número de teléfono.
+     */
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    /**
+     * @return Nuevo código del país, o `null` si no cambia.
+     */
+    public Short getCountry() {
+        return country;
+    }
+
+    /**
+     * @param country Nuevo código del país.
+     */
+    public void setCountry(Short country) {
+        this.country = country;
+    }
+}
@@ -0,0 +1,40 @@
+package api.customer.models;
+
+import java.time.Instant;
+
+/**
+ * Versión de la fila de un cliente y fecha de su última modificación, leídas sin el resto
+ * de columnas para responder a las lecturas condicionales.
+ */
+public final class CustomerVersion {
+
+    private final long version; // Versión de la fila; cada escritura la incrementa
+    private final Instant updatedAt; // Fecha de la última modificación
+
+    public CustomerVersion(long version, Instant updatedAt) {
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * @param customer Cliente leído con su versión.
+     * @return La versión del cliente, o `null` si no se leyó.
+     */
+    public static CustomerVersion of(Customer customer) {
+        return customer.getVersion() == null ? null : new CustomerVersion(customer.getVersion(), customer.getUpdatedAt());
+    }
+
+    /**
+     * @return Versión de la fila.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Fecha de la última modificación.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,46 @@
+package api.customer.models;
+
+/**
+ * Resultado de una escritura que devuelve el cliente tal como quedó guardado, para que
+ * quien la pide no necesite volver a consultarlo.
+ */
+public final class CustomerWriteResult {
+
+    private final WriteStatus status; // Resultado de la escritura
+    private final Customer customer; // Cliente guardado, solo si la escritura se realizó
+
+    private CustomerWriteResult(WriteStatus status, Customer customer) {
+        this.status = status;
+        this.customer = customer;
+    }
+
+    /**
+     * @param customer Cliente tal como quedó guardado.
+     * @return El resultado de una escritura realizada.
+     */
+    public static CustomerWriteResult success(Customer customer) {
+        return new CustomerWriteResult(WriteStatus.SUCCESS, customer);
+    }
+
+    /**
+     * @param status Motivo por el que la escritura no se realizó.
+     * @return El resultado de una escritura rechazada, sin cliente.
+     */
+    public static CustomerWriteResult failed(WriteStatus status) {
+        return new CustomerWriteResult(status, null);
+    }
+
+    /**
+     * @return Resultado de la escritura.
+     */
+    public WriteStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Cliente guardado, o `null` si la escritura no se realizó.
+     */
+    public Customer getCustomer() {
+        return customer;
+    }
+}
@@ -0,0 +1,99 @@
+package api.customer.models;
+
+import java.util.Locale;
+
+/**
+ * Formatos en que los endpoints de clientes pueden leer y escribir sus cuerpos, elegidos por
+ * negociación de contenido con las cabeceras `Accept` y `Content-Type`. Además de JSON se
+ * ofrecen dos codificaciones binarias de Jackson, más compactas y rápidas de interpretar,
+ * pensadas para llamadas entre servicios.
+ */
+public enum PayloadFormat {
+    JSON(PayloadFormat.JSON_TYPE),
+    CBOR(PayloadFormat.CBOR_TYPE),
+    SMILE(PayloadFormat.SMILE_TYPE);
+
+    public static final String JSON_TYPE = "application/json";
+    public static final String CBOR_TYPE = "application/cbor"; // RFC 8949
+    public static final String SMILE_TYPE = "application/x-jackson-smile";
+
+    private final String mediaType; // Tipo de contenido del formato
+
+    PayloadFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return Tipo de contenido del formato.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param mediaType Tipo de contenido, sin parámetros o con ellos (ejemplo: "application/cbor").
+     * @return El formato del tipo de contenido, o `null` si no es ninguno de los admitidos.
+     */
+    public static PayloadFormat of(String mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        String type = mediaType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (PayloadFormat format : values()) {
+            if (format.mediaType.equals(type)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Elige el formato de la respuesta según la cabecera `Accept`: el admitido con mayor
+     * calidad (`q`) y, a igual calidad, el que aparece primero. Los comodines y la ausencia
+     * de la cabecera eligen JSON, igual que un tipo que no se admite.
+     *
+     * @param accept Valor de la cabecera `Accept`, o `null`.
+     * @return El formato de la respuesta.
+     */
+    public static PayloadFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        PayloadFormat best = JSON;
+        double bestQuality = 0;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            PayloadFormat format = of(parts[0]);
+            if (format == null) {
+                String type = parts[0].trim();
+                if (!type.equals("*/*") && !type.equals("application/*")) {
+                    continue;
+                }
+                format = JSON;
+            }
+            double quality = quality(parts);
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lee el parámetro `q` de un rango de la cabecera `Accept`; `1` si no lo tiene o no es válido.
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
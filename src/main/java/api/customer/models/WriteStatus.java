@@ -0,0 +1,25 @@
+package api.customer.models;
+
+/**
+ * Resultado de una operación de escritura sobre un cliente.
+ * Los conflictos de correo y teléfono se detectan por los índices únicos de la base de datos
+ * en la misma sentencia de escritura, sin consultas previas.
+ */
+public enum WriteStatus {
+    SUCCESS, // La escritura se realizó
+    EMAIL_TAKEN, // El correo electrónico ya pertenece a otro cliente
+    PHONE_TAKEN, // El número de teléfono ya pertenece a otro cliente
+    NOT_FOUND, // El cliente a actualizar no existe o está deshabilitado
+    INVALID_COUNTRY, // El país no existe o no tiene gentilicio
+    COUNTRY_UNAVAILABLE, // No se pudo consultar el país; se puede reintentar
+    INVALID_PHONE_PREFIX, // El prefijo del teléfono no corresponde al país
+    CONFLICT, // El cliente cambió entre la validación y la escritura; se puede reintentar
+    FAILED; // Error inesperado al escribir
+
+    /**
+     * @return `true` si la escritura se realizó, de lo contrario `false`.
+     */
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+}
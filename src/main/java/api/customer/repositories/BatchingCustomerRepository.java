@@ -0,0 +1,113 @@
+package api.customer.repositories;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.concurrent.Deadline;
+import api.customer.concurrent.MicroBatcher;
+import api.customer.interfaces.ICustomerRepository;
+import api.customer.models.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+
+/**
+ * Decorador del repositorio de clientes que agrupa las llamadas concurrentes a `findById`
+ * en consultas `findByIds`: los identificadores pedidos durante `customers.micro-batch.window`,
+ * o hasta reunir `customers.micro-batch.max-size`, se consultan con un solo `IN`.
+ * Se aplica después de la caché de clientes, por lo que solo agrupa los fallos de caché.
+ * Cada lote se consulta con el plazo más próximo de quienes pidieron sus identificadores
+ * (`Deadline.current()`), que el repositorio JDBC aplica como `setQueryTimeout`.
+ * Está desactivado por defecto (`customers.micro-batch.enabled`): compensa con muchas
+ * peticiones concurrentes, pero con poco tráfico solo añade la espera de la ventana.
+ */
+@Decorator
+@Priority(20)
+public abstract class BatchingCustomerRepository implements ICustomerRepository {
+
+    @Inject
+    @Delegate
+    @Any
+    ICustomerRepository delegate;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "customers.micro-batch.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "customers.micro-batch.window", defaultValue = "2ms")
+    Duration window;
+
+    @ConfigProperty(name = "customers.micro-batch.max-size", defaultValue = "100")
+    int maxSize;
+
+    @ConfigProperty(name = "customers.micro-batch.loaders", defaultValue = "4")
+    int loaderThreads; // Lotes cargados a la vez; los demás esperan en cola
+
+    private ExecutorService loaders; // Hilos que cargan los lotes; `null` si el agrupamiento está desactivado
+    private MicroBatcher<Integer, Customer> batcher; // `null` si el agrupamiento está desactivado
+
+    /**
+     * Inicializa el agrupador de consultas si está activado.
+     */
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        // Los lotes se cargan en hilos propios: si se cargaran en el pool de trabajadores y todos
+        // sus hilos estuvieran esperando un lote, ninguno quedaría libre para cargarlo. El número
+        // de hilos es fijo, ya que cada lote ocupa una conexión de la base de datos.
+        loaders = Executors.newFixedThreadPool(loaderThreads, task -> {
+            Thread thread = new Thread(task, "customer-micro-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        batcher = new MicroBatcher<>(maxSize, window.toNanos(), delegate::findByIds, loaders);
+        batcher.bindTo(registry, "customer-find-by-id");
+    }
+
+    /**
+     * Detiene los hilos de carga al destruir el repositorio.
+     */
+    @PreDestroy
+    void close() {
+        if (loaders != null) {
+            loaders.shutdown();
+        }
+    }
+
+    /**
+     * Busca un cliente añadiendo su identificador al lote en curso y esperando su resultado.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return El cliente, o `null` si no existe o está deshabilitado.
+     * @throws RuntimeException Si la consulta del lote falla; así la caché de clientes no la
+     *         guarda como una entrada negativa.
+     */
+    @Override
+    public Customer findById(int customerId) {
+        if (batcher == null) {
+            return delegate.findById(customerId);
+        }
+        try {
+            return batcher.load(customerId, Deadline.current()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted finding customer " + customerId, e);
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            throw new RuntimeException("Error finding customer " + customerId, e.getCause());
+        }
+    }
+}
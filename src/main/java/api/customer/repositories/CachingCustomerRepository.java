@@ -0,0 +1,203 @@
+package api.customer.repositories;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.cache.ExpiringCache;
+import api.customer.interfaces.ICustomerRepository;
+import api.customer.models.Customer;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+
+/**
+ * Decorador del repositorio de clientes que mantiene una caché de lectura (read-through)
+ * delante de `findById`, acotada por tamaño y con expiración por tiempo.
+ * Los clientes inexistentes o deshabilitados se guardan como entradas negativas, y cada
+ * escritura de un cliente invalida o actualiza su entrada. Con `customers.cache.enabled=false`
+ * todas las operaciones van directamente al repositorio.
+ * La caché es local a cada instancia: las escrituras hechas por otra instancia se ven
+ * como mucho tras `customers.cache.ttl`.
+ */
+@Decorator
+@Priority(10)
+public abstract class CachingCustomerRepository implements ICustomerRepository {
+
+    @Inject
+    @Delegate
+    @Any
+    ICustomerRepository delegate;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "customers.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customers.cache.maximum-size", defaultValue = "10000")
+    int maximumSize;
+
+    @ConfigProperty(name = "customers.cache.ttl", defaultValue = "5m")
+    Duration ttl;
+
+    @ConfigProperty(name = "customers.cache.negative-ttl", defaultValue = "30s")
+    Duration negativeTtl;
+
+    private ExpiringCache<Integer, Customer> cache; // Clientes por identificador; `null` si la caché está desactivada
+    private Timer loads; // Latencia de las lecturas que no encuentran el cliente en la caché
+
+    /**
+     * Inicializa la caché de clientes si está activada.
+     */
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        cache = new ExpiringCache<>(maximumSize, ttl.toNanos(), negativeTtl.toNanos(), 0,
+            Infrastructure.getDefaultWorkerPool());
+        cache.bindTo(registry, "customer");
+        loads = Timer.builder("cache.load")
+            .tag("cache", "customer")
+            .description("Tiempo de carga de un cliente desde la base de datos")
+            .register(registry);
+    }
+
+    /**
+     * Busca un cliente en la caché o, si no está, en la base de datos.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return El cliente, o `null` si no existe o está deshabilitado.
+     * @throws RuntimeException Si la consulta falla; el fallo no se guarda en la caché.
+     */
+    @Override
+    public Customer findById(int customerId) {
+        if (cache == null) {
+            return delegate.findById(customerId);
+        }
+        try {
+            return cache.get(customerId, id -> loads.record(() -> delegate.findById(id)));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding customer " + customerId, e);
+        }
+    }
+
+    /**
+     * Obtiene la versión de un cliente siempre desde la base de datos: la caché es local a
+     * cada instancia y no ve las escrituras de las demás, por lo que una respuesta
+     * `304 Not Modified` basada en ella podría ocultar un cambio hasta `customers.cache.ttl`.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return La versión del cliente, o `null` si no existe o está deshabilitado.
+     */
+    @Override
+    public CustomerVersion findVersion(int customerId) {
+        return delegate.findVersion(customerId);
+    }
+
+    /**
+     * Busca varios clientes en la caché y consulta en la base de datos, con una sola
+     * llamada, solo los que no están. Los no encontrados se guardan como entradas negativas.
+     *
+     * @param customerIds Identificadores de los clientes.
+     * @return Los clientes encontrados por identificador.
+     */
+    @Override
+    public Map<Integer, Customer> findByIds(Collection<Integer> customerIds) {
+        if (cache == null) {
+            return delegate.findByIds(customerIds);
+        }
+        try {
+            return cache.getAll(customerIds, missing -> loads.recordCallable(() -> delegate.findByIds(missing)));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding customers by id", e);
+        }
+    }
+
+    /**
+     * Crea un cliente e invalida su entrada, que pudo guardarse como negativa al consultarlo
+     * antes de existir.
+     */
+    @Override
+    public WriteStatus createCustomer(Customer customer) {
+        WriteStatus status = delegate.createCustomer(customer);
+        if (status.isSuccess()) {
+            invalidate(customer.getCustomerId());
+        }
+        return status;
+    }
+
+    /**
+     * Crea varios clientes e invalida sus entradas.
+     */
+    @Override
+    public void createCustomers(List<Customer> customers) throws SQLException {
+        delegate.createCustomers(customers);
+        for (Customer customer : customers) {
+            invalidate(customer.getCustomerId());
+        }
+    }
+
+    /**
+     * Actualiza un cliente e invalida su entrada; la siguiente lectura carga los datos nuevos.
+     */
+    @Override
+    public WriteStatus updateCustomer(int customerId, String email, String address, String phone, short country,
+                                      String demonym) {
+        WriteStatus status = delegate.updateCustomer(customerId, email, address, phone, country, demonym);
+        invalidate(customerId);
+        return status;
+    }
+
+    /**
+     * Modifica un cliente e invalida su entrada; la siguiente lectura carga los datos nuevos.
+     */
+    @Override
+    public CustomerWriteResult patchCustomer(int customerId, CustomerPatch patch, String demonym,
+                                             Short expectedCountry, String expectedPhone) {
+        CustomerWriteResult result = delegate.patchCustomer(customerId, patch, demonym, expectedCountry, expectedPhone);
+        invalidate(customerId);
+        return result;
+    }
+
+    /**
+     * Deshabilita un cliente y guarda su entrada como negativa, ya que deja de ser visible.
+     */
+    @Override
+    public boolean deleteCustomer(int customerId) {
+        boolean success = delegate.deleteCustomer(customerId);
+        if (cache != null) {
+            if (success) {
+                cache.put(customerId, null);
+            } else {
+                cache.invalidate(customerId);
+            }
+        }
+        return success;
+    }
+
+    private void invalidate(Integer customerId) {
+        if (cache != null && customerId != null) {
+            cache.invalidate(customerId);
+        }
+    }
+}
@@ -1,43 +1,125 @@
 package api.customer.repositories;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.cache.BloomFilter;
+import api.customer.concurrent.BlockIdAllocator;
+import api.customer.concurrent.Deadline;
 import api.customer.interfaces.ICustomerRepository;
 import api.customer.models.Customer;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
 import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
 /**
  * Implementación del repositorio de clientes.
  * Proporciona métodos para realizar operaciones CRUD en la base de datos.
+ * Mantiene en memoria filtros de Bloom con los correos y teléfonos existentes: las
+ * comprobaciones de existencia cuyo valor el filtro descarta no consultan la base de datos.
  */
 @ApplicationScoped
 public class CustomerRepository implements ICustomerRepository {
 
+    static final String EMAIL_UNIQUE_KEY = "uk_customer_email"; // Índice único de `email` (V4)
+    static final String PHONE_UNIQUE_KEY = "uk_customer_phone"; // Índice único de `phone` (V4)
+    // Asignaciones que toda escritura de un cliente añade a su `UPDATE` (V5)
+    static final String VERSION_BUMP = "version = version + 1, updated_at = UTC_TIMESTAMP(3)";
+
     @Inject
     AgroalDataSource dataSource;
 
+    @ConfigProperty(name = "customers.id.block-size", defaultValue = "50")
+    int idBlockSize; // Identificadores reservados en cada consulta a la tabla de secuencia
+
+    @ConfigProperty(name = "customers.multi-get.chunk-size", defaultValue = "500")
+    int multiGetChunkSize; // Identificadores por consulta `IN` al buscar varios clientes
+
+    @ConfigProperty(name = "customers.bloom.expected-insertions", defaultValue = "1000000")
+    long bloomExpectedInsertions; // Número de clientes previsto para dimensionar los filtros
+
+    @ConfigProperty(name = "customers.bloom.false-positive-rate", defaultValue = "0.01")
+    double bloomFalsePositiveRate; // Tasa de falsos positivos con ese número de clientes
+
+    @Inject
+    MeterRegistry registry;
+
+    private BlockIdAllocator ids;
+    private BloomFilter emailFilter; // Correos existentes (en minúsculas)
+    private BloomFilter phoneFilter; // Teléfonos existentes
+    private volatile boolean filtersReady; // Los filtros contienen toda la tabla
+
+    @PostConstruct
+    void init() {
+        ids = new BlockIdAllocator(idBlockSize, this::reserveIdBlock);
+        emailFilter = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+        emailFilter.bindTo(registry, "customer-email");
+        phoneFilter = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+        phoneFilter.bindTo(registry, "customer-phone");
+    }
+
     /**
-     * Crea un nuevo cliente en la base de datos.
+     * Prepara una sentencia limitada al plazo del trabajo en curso, si lo tiene: cuando el
+     * plazo de la petición expira, la consulta se cancela en el servidor en lugar de seguir
+     * ocupando el hilo y la conexión.
+     */
+    private static PreparedStatement prepare(Connection connection, String query) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query);
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            try {
+                statement.setQueryTimeout(deadline.remainingSeconds());
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Crea un nuevo cliente en la base de datos con una sola sentencia.
+     * Los índices únicos de correo y teléfono rechazan los duplicados en el propio `INSERT`.
      *
      * @param customer El cliente a crear.
-     * @return `true` si el cliente fue creado con éxito, de lo contrario `false`.
+     * @return `SUCCESS` si el cliente fue creado, `EMAIL_TAKEN` o `PHONE_TAKEN` si el correo
+     *         o el teléfono ya existen, o `FAILED` si ocurre otro error.
      */
     @Override
-    public boolean createCustomer(Customer customer) {
+    public WriteStatus createCustomer(Customer customer) {
         String query = """
             INSERT INTO customer (customerid, firstname, middlename, lastname, secondlastname, email, address, phone, country, demonym, disable)
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
     
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+             PreparedStatement statement = prepare(connection, query)) {
     
             statement.setInt(1, customer.getCustomerId()); // Usa el ID generado
             statement.setString(2, customer.getFirstName());
@@ -51,14 +133,67 @@ public class CustomerRepository implements ICustomerRepository {
             statement.setString(10, customer.getDemonym());
             statement.setBoolean(11, customer.getDisable());
     
-            return statement.executeUpdate() > 0;
+            if (statement.executeUpdate() > 0) {
+                remember(customer.getEmail(), customer.getPhone());
+                return WriteStatus.SUCCESS;
+            }
+            return WriteStatus.FAILED;
     
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return duplicateStatus(e);
         } catch (Exception e) {
             e.printStackTrace();
-            return false;
+            return WriteStatus.FAILED;
         }
     }
     
+    /**
+     * Crea varios clientes en una sola transacción con inserciones por lotes.
+     * Con `rewriteBatchedStatements=true` en la URL JDBC, el driver de MySQL envía
+     * el lote como una única sentencia `INSERT` de varias filas.
+     *
+     * @param customers Clientes a crear, con su identificador ya asignado.
+     * @throws SQLException Si alguna inserción falla; en ese caso no se crea ninguno.
+     */
+    @Override
+    public void createCustomers(List<Customer> customers) throws SQLException {
+        String query = """
+            INSERT INTO customer (customerid, firstname, middlename, lastname, secondlastname, email, address, phone, country, demonym, disable)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = prepare(connection, query)) {
+                for (Customer customer : customers) {
+                    statement.setInt(1, customer.getCustomerId());
+                    statement.setString(2, customer.getFirstName());
+                    statement.setString(3, customer.getMiddleName());
+                    statement.setString(4, customer.getLastName());
+                    statement.setString(5, customer.getSecondLastName());
+                    statement.setString(6, customer.getEmail());
+                    statement.setString(7, customer.getAddress());
+                    statement.setString(8, customer.getPhone());
+                    statement.setShort(9, customer.getCountry());
+                    statement.setString(10, customer.getDemonym());
+                    statement.setBoolean(11, customer.getDisable());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                for (Customer customer : customers) {
+                    remember(customer.getEmail(), customer.getPhone());
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
     /**
      * Obtiene una lista de todos los clientes almacenados en la base de datos.
      *
@@ -70,7 +205,7 @@ public class CustomerRepository implements ICustomerRepository {
         List<Customer> customers = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query);
+             PreparedStatement statement = prepare(connection, query);
              ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
@@ -96,7 +231,7 @@ public class CustomerRepository implements ICustomerRepository {
         List<Customer> customers = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+             PreparedStatement statement = prepare(connection, query)) {
 
             statement.setShort(1, country);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -113,17 +248,129 @@ public class CustomerRepository implements ICustomerRepository {
         return customers;
     }
 
+    /**
+     * Obtiene una página de clientes activos ordenados por identificador.
+     * La consulta continúa por clave (`customerid > ?`) y usa la clave primaria,
+     * por lo que su coste no depende de la posición de la página.
+     * Solo se consultan las columnas de los campos pedidos.
+     *
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Los clientes con identificador mayor que `afterCustomerId`, como máximo `limit`.
+     */
+    @Override
+    public List<Customer> findPage(int afterCustomerId, int limit, Set<CustomerField> fields) {
+        String query = "SELECT " + CustomerField.columns(fields)
+            + " FROM customer WHERE customerid > ? AND disable = 0 ORDER BY customerid LIMIT ?";
+        List<Customer> customers = new ArrayList<>(limit);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = prepare(connection, query)) {
+
+            statement.setInt(1, afterCustomerId);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    customers.add(CustomerField.read(resultSet, fields));
+                }
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error finding customers of country " + country, e);
+        }
+
+        return customers;
+    }
+
+    /**
+     * Recorre todos los clientes activos en orden de identificador.
+     * La consulta es de solo avance y de solo lectura, y con un tamaño de lectura de
+     * `Integer.MIN_VALUE` el driver de MySQL entrega las filas una a una según llegan del
+     * servidor en lugar de cargar el resultado completo, por lo que la memoria usada no
+     * depende del número de clientes. La conexión queda ocupada hasta terminar el recorrido.
+     *
+     * @param fields  Campos a leer; el identificador se lee siempre.
+     * @param handler Función que recibe cada cliente.
+     * @return Número de clientes recorridos.
+     * @throws SQLException Si la consulta falla.
+     * @throws IOException  Si la función que recibe los clientes falla.
+     */
+    @Override
+    public long forEachCustomer(Set<CustomerField> fields, CustomerHandler handler) throws SQLException, IOException {
+        String query = "SELECT " + CustomerField.columns(fields) + " FROM customer WHERE disable = 0 ORDER BY customerid";
+        long count = 0;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(Integer.MIN_VALUE); // Lectura fila a fila del driver de MySQL
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    handler.accept(CustomerField.read(resultSet, fields));
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Obtiene una página de clientes activos de un país ordenados por identificador.
+     * Usa el índice `(country, customerid)`.
+     *
+     * @param country         Código del país (ISO numérico).
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Los clientes del país con identificador mayor que `afterCustomerId`, como máximo `limit`.
+     * @throws RuntimeException Si la consulta falla; una página vacía o incompleta no debe
+     *         confundirse con el listado real, ya que se guarda en la caché de listados.
+     */
+    @Override
+    public List<Customer> findPageByCountry(short country, int afterCustomerId, int limit, Set<CustomerField> fields) {
+        String query = "SELECT " + CustomerField.columns(fields) + """
+             FROM customer
+            WHERE country = ? AND customerid > ? AND disable = 0
+            ORDER BY customerid LIMIT ?
+            """;
+        List<Customer> customers = new ArrayList<>(limit);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = prepare(connection, query)) {
+
+            statement.setShort(1, country);
+            statement.setInt(2, afterCustomerId);
+            statement.setInt(3, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    customers.add(CustomerField.read(resultSet, fields));
+                }
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return customers;
+    }
+
     /**
      * Busca un cliente por su identificador único.
      *
      * @param customerId Identificador único del cliente.
      * @return Un objeto `Customer` si se encuentra el cliente, de lo contrario `null`.
+     * @throws RuntimeException Si la consulta falla; un `null` significa siempre que el cliente
+     *         no existe, y la caché de clientes lo guarda como entrada negativa.
      */
     @Override
     public Customer findById(int customerId) {
         String query = "SELECT * FROM customer WHERE customerid = ? AND disable = 0";
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+             PreparedStatement statement = prepare(connection, query)) {
 
             statement.setInt(1, customerId);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -132,6 +379,35 @@ public class CustomerRepository implements ICustomerRepository {
                 }
             }
 
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error finding customer " + customerId, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Obtiene la versión y la fecha de modificación de un cliente con una consulta que solo
+     * lee esas dos columnas.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return La versión del cliente, o `null` si no existe, está deshabilitado o la consulta falla.
+     */
+    @Override
+    public CustomerVersion findVersion(int customerId) {
+        String query = "SELECT version, updated_at FROM customer WHERE customerid = ? AND disable = 0";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = prepare(connection, query)) {
+
+            statement.setInt(1, customerId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return new CustomerVersion(resultSet.getLong(CustomerField.VERSION_COLUMN),
+                        CustomerField.toInstant(resultSet.getObject(CustomerField.UPDATED_AT_COLUMN, LocalDateTime.class)));
+                }
+            }
+
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -139,6 +415,49 @@ public class CustomerRepository implements ICustomerRepository {
         return null;
     }
 
+    /**
+     * Busca varios clientes por sus identificadores con consultas `WHERE customerid IN (...)`.
+     * Las listas largas se dividen en bloques de `customers.multi-get.chunk-size` identificadores,
+     * todos consultados con la misma conexión.
+     *
+     * @param customerIds Identificadores de los clientes.
+     * @return Los clientes encontrados por identificador; los inexistentes o deshabilitados no aparecen.
+     */
+    @Override
+    public Map<Integer, Customer> findByIds(Collection<Integer> customerIds) {
+        Map<Integer, Customer> customers = new HashMap<>();
+        if (customerIds.isEmpty()) {
+            return customers;
+        }
+        List<Integer> ids = new ArrayList<>(customerIds);
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String query = "SELECT * FROM customer WHERE customerid IN (" + placeholders + ") AND disable = 0";
+
+                try (PreparedStatement statement = prepare(connection, query)) {
+                    int index = 1;
+                    for (Integer id : chunk) {
+                        statement.setInt(index++, id);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Customer customer = mapResultSetToCustomer(resultSet);
+                            customers.put(customer.getCustomerId(), customer);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error finding customers by id", e);
+        }
+
+        return customers;
+    }
+
     /**
      * Actualiza los datos de un cliente existente en la base de datos.
      *
@@ -147,18 +466,18 @@ public class CustomerRepository implements ICustomerRepository {
      * @param address    Nueva dirección.
      * @param phone      Nuevo número de teléfono.
      * @param country    Nuevo código de país.
-     * @return `true` si el cliente fue actualizado con éxito, de lo contrario `false`.
+     * @param demonym    Nuevo gentilicio.
+     * @return `SUCCESS` si el cliente fue actualizado, `EMAIL_TAKEN` o `PHONE_TAKEN` si el correo
+     *         o el teléfono pertenecen a otro cliente, `NOT_FOUND` si el cliente no existe,
+     *         o `FAILED` si ocurre otro error.
      */
     @Override
-    public boolean updateCustomer(int customerId, String email, String address, String phone, short country,String demonym) {
-        String query = """
-            UPDATE customer
-            SET email = ?, address = ?, phone = ?, country = ?, demonym = ?
-            WHERE customerid = ? AND disable = 0
-            """;
+    public WriteStatus updateCustomer(int customerId, String email, String address, String phone, short country, String demonym) {
+        String query = "UPDATE customer SET email = ?, address = ?, phone = ?, country = ?, demonym = ?, "
+            + VERSION_BUMP + " WHERE customerid = ? AND disable = 0";
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+             PreparedStatement statement = prepare(connection, query)) {
 
             statement.setString(1, email);
             statement.setString(2, address);
@@ -167,14 +486,150 @@ public class CustomerRepository implements ICustomerRepository {
             statement.setString(5, demonym);
             statement.setInt(6, customerId);
 
-            return statement.executeUpdate() > 0;
+            if (statement.executeUpdate() > 0) {
+                remember(email, phone);
+                return WriteStatus.SUCCESS;
+            }
+            return WriteStatus.NOT_FOUND;
 
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return duplicateStatus(e);
         } catch (Exception e) {
             e.printStackTrace();
-            return false;
+            return WriteStatus.FAILED;
         }
     }
 
+    /**
+     * Modifica solo los campos presentes de un cliente con un único `UPDATE`, cuyo `SET`
+     * incluye solo esas columnas, y lee la fila resultante con la misma conexión y en la
+     * misma transacción, de modo que se devuelve exactamente lo que quedó guardado.
+     * El país o el teléfono con los que se validó el prefijo se añaden al `WHERE`: si otra
+     * escritura los cambió entre la validación y este `UPDATE`, no se modifica nada.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param patch      Campos a modificar.
+     * @param demonym    Gentilicio del país nuevo, o `null` si el país no cambia.
+     * @param expectedCountry País que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @param expectedPhone   Teléfono que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @return El cliente tal como quedó guardado, o el motivo por el que no se modificó.
+     */
+    @Override
+    public CustomerWriteResult patchCustomer(int customerId, CustomerPatch patch, String demonym,
+                                             Short expectedCountry, String expectedPhone) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        patchColumn(assignments, values, "email", patch.getEmail());
+        patchColumn(assignments, values, "address", patch.getAddress());
+        patchColumn(assignments, values, "phone", patch.getPhone());
+        if (patch.getCountry() != null) {
+            patchColumn(assignments, values, "country", patch.getCountry());
+            patchColumn(assignments, values, "demonym", demonym);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                boolean updated = true;
+                if (!assignments.isEmpty()) {
+                    assignments.add(VERSION_BUMP);
+                    String update = "UPDATE customer SET " + String.join(", ", assignments)
+                        + " WHERE customerid = ? AND disable = 0" + expectedColumns(values, customerId,
+                            expectedCountry, expectedPhone);
+                    try (PreparedStatement statement = prepare(connection, update)) {
+                        int index = 1;
+                        for (Object value : values) {
+                            statement.setObject(index++, value);
+                        }
+                        // El driver cuenta las filas encontradas, aunque sus valores no cambien.
+                        updated = statement.executeUpdate() > 0;
+                    }
+                }
+
+                Customer customer = null;
+                try (PreparedStatement select = prepare(connection,
+                         "SELECT * FROM customer WHERE customerid = ? AND disable = 0")) {
+                    select.setInt(1, customerId);
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        if (resultSet.next()) {
+                            customer = mapResultSetToCustomer(resultSet);
+                        }
+                    }
+                }
+
+                if (customer == null || !updated) {
+                    connection.rollback();
+                    // Si el cliente existe pero no se modificó, su país o su teléfono cambiaron.
+                    return CustomerWriteResult.failed(customer == null ? WriteStatus.NOT_FOUND : WriteStatus.CONFLICT);
+                }
+                connection.commit();
+                remember(patch.getEmail(), patch.getPhone());
+                return CustomerWriteResult.success(customer);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return CustomerWriteResult.failed(duplicateStatus(e));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return CustomerWriteResult.failed(WriteStatus.FAILED);
+        }
+    }
+
+    /**
+     * Completa el `WHERE` de una modificación parcial: añade el identificador a los parámetros
+     * y, si están presentes, las condiciones sobre el país y el teléfono esperados.
+     *
+     * @return Las condiciones adicionales, a continuación de `customerid = ? AND disable = 0`.
+     */
+    static String expectedColumns(List<Object> parameters, int customerId, Short expectedCountry,
+                                  String expectedPhone) {
+        parameters.add(customerId);
+        StringBuilder conditions = new StringBuilder();
+        if (expectedCountry != null) {
+            conditions.append(" AND country = ?");
+            parameters.add(expectedCountry);
+        }
+        if (expectedPhone != null) {
+            conditions.append(" AND phone = ?");
+            parameters.add(expectedPhone);
+        }
+        return conditions.toString();
+    }
+
+    /**
+     * Añade una columna al `SET` de una modificación parcial si su valor está presente.
+     */
+    static void patchColumn(List<String> assignments, List<Object> values, String column, Object value) {
+        if (value != null) {
+            assignments.add(column + " = ?");
+            values.add(value);
+        }
+    }
+
+    /**
+     * Traduce una violación de restricción al índice único que la produjo.
+     * MySQL informa el índice en el mensaje: "Duplicate entry '...' for key 'customer.uk_customer_email'".
+     *
+     * @param e Violación de restricción producida por una escritura.
+     * @return `EMAIL_TAKEN` o `PHONE_TAKEN` según el índice, o `FAILED` para cualquier otra restricción.
+     */
+    private static WriteStatus duplicateStatus(SQLIntegrityConstraintViolationException e) {
+        String message = e.getMessage() == null ? "" : e.getMessage();
+        if (message.contains(EMAIL_UNIQUE_KEY)) {
+            return WriteStatus.EMAIL_TAKEN;
+        }
+        if (message.contains(PHONE_UNIQUE_KEY)) {
+            return WriteStatus.PHONE_TAKEN;
+        }
+        e.printStackTrace();
+        return WriteStatus.FAILED;
+    }
+
     /**
      * Elimina un cliente de la base de datos por su identificador único.
      *
@@ -183,10 +638,10 @@ public class CustomerRepository implements ICustomerRepository {
      */
     @Override
     public boolean deleteCustomer(int customerId) {
-        String query = "UPDATE customer SET disable = 1 WHERE customerid = ?";
+        String query = "UPDATE customer SET disable = 1, " + VERSION_BUMP + " WHERE customerid = ?";
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+             PreparedStatement statement = prepare(connection, query)) {
 
             statement.setInt(1, customerId);
             return statement.executeUpdate() > 0;
@@ -202,96 +657,174 @@ public class CustomerRepository implements ICustomerRepository {
      *
      * @param resultSet El conjunto de resultados de una consulta.
      * @return Un objeto `Customer` con los datos extraídos del `ResultSet`.
-     * @throws Exception Si ocurre algún error al procesar el conjunto de resultados.
+     * @throws SQLException Si ocurre algún error al procesar el conjunto de resultados.
      */
-    private Customer mapResultSetToCustomer(ResultSet resultSet) throws Exception {
-        Customer customer = new Customer();
-        customer.setCustomerId(resultSet.getInt("customerid"));
-        customer.setFirstName(resultSet.getString("firstname"));
-        customer.setMiddleName(resultSet.getString("middlename"));
-        customer.setLastName(resultSet.getString("lastname"));
-        customer.setSecondLastName(resultSet.getString("secondlastname"));
-        customer.setEmail(resultSet.getString("email"));
-        customer.setAddress(resultSet.getString("address"));
-        customer.setPhone(resultSet.getString("phone"));
-        customer.setCountry(resultSet.getShort("country"));
-        customer.setDemonym(resultSet.getString("demonym"));
-        customer.setDisable(resultSet.getBoolean("disable"));
-        return customer;
+    private Customer mapResultSetToCustomer(ResultSet resultSet) throws SQLException {
+        return CustomerField.read(resultSet, CustomerField.ALL);
     }
 
     /**
      * Genera un nuevo identificador único para un cliente.
-     * Utiliza una consulta SQL para encontrar el valor máximo actual de los IDs en la base de datos
-     * y lo incrementa en 1.
+     * Los identificadores se entregan desde un bloque reservado en memoria, por lo que
+     * normalmente no requieren ninguna consulta; solo al agotarse el bloque se reserva
+     * otro en la tabla `customer_id_sequence`.
      *
      * @return El próximo identificador disponible para un cliente.
      * @throws RuntimeException Si ocurre un error al generar el ID.
      */
     @Override
     public Integer generateCustomerId() {
-        String query = "SELECT COALESCE(MAX(customerid), 0) + 1 AS id FROM customer";
-
-        try (Connection connection = dataSource.getConnection();
-            PreparedStatement statement = connection.prepareStatement(query);
-            ResultSet resultSet = statement.executeQuery()) {
-
-            if (resultSet.next()) {
-                return resultSet.getInt("id");
-            } else {
-                // No debería llegar aquí porque COALESCE asegura un resultado
-                return 1;
-            }
-        } catch (SQLException e) {
+        try {
+            return Math.toIntExact(ids.nextId());
+        } catch (Exception e) {
             e.printStackTrace();
             // Lanza una excepción más descriptiva
             throw new RuntimeException("Error generating customer ID", e);
         }
     }
+
     /**
-     * Verifica si un correo electrónico ya existe en la base de datos.
+     * Reserva un bloque de identificadores consecutivos para nuevos clientes.
      *
-     * @param email Correo electrónico a verificar.
-     * @return `true` si el correo existe en la base de datos, de lo contrario `false`.
+     * @param count Número de identificadores a reservar.
+     * @return El primer identificador del bloque.
+     * @throws RuntimeException Si ocurre un error al generar los IDs.
      */
-    public boolean emailExists(String email) {
-        String query = "SELECT COUNT(*) FROM customer WHERE email = ?";
+    @Override
+    public int generateCustomerIds(int count) {
+        try {
+            return Math.toIntExact(ids.nextIds(count));
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error generating customer IDs", e);
+        }
+    }
+
+    /**
+     * Reserva de forma atómica un bloque de identificadores en la tabla de secuencia.
+     * `LAST_INSERT_ID(expr)` guarda el nuevo valor en la conexión, de modo que se lee
+     * sin volver a consultar la tabla y sin que otra reserva concurrente lo altere.
+     *
+     * @param size Número de identificadores del bloque.
+     * @return El primer identificador del bloque.
+     * @throws SQLException Si la reserva falla.
+     */
+    private long reserveIdBlock(int size) throws SQLException {
+        String update = "UPDATE customer_id_sequence SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = 'customer'";
+
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, email);
+             PreparedStatement statement = prepare(connection, update)) {
+
+            statement.setInt(1, size);
+            if (statement.executeUpdate() == 0) {
+                throw new SQLException("Sequence 'customer' not found in customer_id_sequence");
+            }
+            try (PreparedStatement select = prepare(connection, "SELECT LAST_INSERT_ID()");
+                 ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1) - size;
+            }
+        }
+    }
+
+    /**
+     * Obtiene, de entre los correos proporcionados, los que ya existen en la base de datos,
+     * con una sola consulta.
+     *
+     * @param emails Correos electrónicos a verificar.
+     * @return Los correos que ya existen.
+     */
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return findExisting("email", emails);
+    }
+
+    /**
+     * Obtiene, de entre los teléfonos proporcionados, los que ya existen en la base de datos,
+     * con una sola consulta.
+     *
+     * @param phones Números de teléfono a verificar.
+     * @return Los teléfonos que ya existen.
+     */
+    @Override
+    public Set<String> findExistingPhones(Collection<String> phones) {
+        return findExisting("phone", phones);
+    }
+
+    /**
+     * Obtiene los valores de una columna que ya existen en la tabla de clientes.
+     *
+     * @param column Columna a consultar (`email` o `phone`).
+     * @param values Valores a verificar.
+     * @return Los valores que ya existen.
+     */
+    private Set<String> findExisting(String column, Collection<String> values) {
+        Set<String> existing = new HashSet<>();
+        // Solo se consultan los valores que el filtro no descarta con certeza.
+        BloomFilter filter = "email".equals(column) ? emailFilter : phoneFilter;
+        List<String> candidates = new ArrayList<>();
+        for (String value : values) {
+            if (mightExist(filter, "email".equals(column) ? normalizeEmail(value) : value)) {
+                candidates.add(value);
+            }
+        }
+        values = candidates;
+        if (values.isEmpty()) {
+            return existing;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(values.size(), "?"));
+        String query = "SELECT " + column + " FROM customer WHERE " + column + " IN (" + placeholders + ")";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = prepare(connection, query)) {
+            int index = 1;
+            for (String value : values) {
+                statement.setString(index++, value);
+            }
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getInt(1) > 0;
+                while (resultSet.next()) {
+                    existing.add(resultSet.getString(1));
                 }
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            throw new RuntimeException("Error checking existing " + column + " values", e);
         }
-        return false;
+        for (int i = existing.size(); i < values.size(); i++) {
+            confirm(filter, false);
+        }
+        return existing;
+    }
+
+    /**
+     * Verifica si un correo electrónico ya existe en la base de datos.
+     * Si el filtro de correos indica que no existe, se responde sin consultar la base de datos.
+     *
+     * @param email Correo electrónico a verificar.
+     * @return `true` si el correo existe en la base de datos, de lo contrario `false`.
+     */
+    @Override
+    public boolean emailExists(String email) {
+        if (!mightExist(emailFilter, normalizeEmail(email))) {
+            return false;
+        }
+        return confirm(emailFilter, exists("SELECT COUNT(*) FROM customer WHERE email = ?", email, null));
     }
+
     /**
      * Verifica si un número de teléfono ya existe en la base de datos.
+     * Si el filtro de teléfonos indica que no existe, se responde sin consultar la base de datos.
      *
      * @param phone Número de teléfono a verificar.
      * @return `true` si el número existe en la base de datos, de lo contrario `false`.
      */
     @Override
     public boolean phoneExists(String phone) {
-        String query = "SELECT COUNT(*) FROM customer WHERE phone = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, phone);
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        if (!mightExist(phoneFilter, phone)) {
+            return false;
         }
-        return false;
+        return confirm(phoneFilter, exists("SELECT COUNT(*) FROM customer WHERE phone = ?", phone, null));
     }
-    
 
     /**
      * Verifica si un correo electrónico ya existe para otro cliente distinto al proporcionado.
@@ -302,21 +835,12 @@ public class CustomerRepository implements ICustomerRepository {
      */
     @Override
     public boolean emailExistsForOtherCustomer(int customerId, String email) {
-        String query = "SELECT COUNT(*) FROM customer WHERE email = ? AND customerid <> ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, email);
-            statement.setInt(2, customerId);
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        if (!mightExist(emailFilter, normalizeEmail(email))) {
+            return false;
         }
-        return false;
+        return exists("SELECT COUNT(*) FROM customer WHERE email = ? AND customerid <> ?", email, customerId);
     }
+
     /**
      * Verifica si un número de teléfono ya existe para otro cliente distinto al proporcionado.
      *
@@ -326,11 +850,24 @@ public class CustomerRepository implements ICustomerRepository {
      */
     @Override
     public boolean phoneExistsForOtherCustomer(int customerId, String phone) {
-        String query = "SELECT COUNT(*) FROM customer WHERE phone = ? AND customerid <> ?";
+        if (!mightExist(phoneFilter, phone)) {
+            return false;
+        }
+        return exists("SELECT COUNT(*) FROM customer WHERE phone = ? AND customerid <> ?", phone, customerId);
+    }
+
+    /**
+     * Ejecuta una consulta `COUNT(*)` con un valor y, opcionalmente, un cliente a excluir.
+     *
+     * @return `true` si la consulta cuenta alguna fila, de lo contrario `false`.
+     */
+    private boolean exists(String query, String value, Integer excludedCustomerId) {
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, phone);
-            statement.setInt(2, customerId);
+             PreparedStatement statement = prepare(connection, query)) {
+            statement.setString(1, value);
+            if (excludedCustomerId != null) {
+                statement.setInt(2, excludedCustomerId);
+            }
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
                     return resultSet.getInt(1) > 0;
@@ -341,4 +878,74 @@ public class CustomerRepository implements ICustomerRepository {
         }
         return false;
     }
+
+    // Filtros de Bloom de correos y teléfonos
+
+    /**
+     * Carga en los filtros los correos y teléfonos de todos los clientes, incluidos los
+     * deshabilitados, leyendo la tabla fila a fila. Hasta que termina, todas las
+     * comprobaciones se resuelven con SQL; las escrituras que ocurren mientras tanto
+     * ya se añaden a los filtros.
+     */
+    void onStart(@Observes StartupEvent event) {
+        Infrastructure.getDefaultWorkerPool().execute(this::loadFilters);
+    }
+
+    private void loadFilters() {
+        String query = "SELECT email, phone FROM customer";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(Integer.MIN_VALUE); // Lectura fila a fila del driver de MySQL
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    emailFilter.put(normalizeEmail(resultSet.getString(1)));
+                    phoneFilter.put(resultSet.getString(2));
+                }
+            }
+            filtersReady = true;
+        } catch (SQLException e) {
+            // Sin filtros cargados las comprobaciones siguen consultando la base de datos.
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Indica si un valor puede existir según su filtro; antes de cargar los filtros, siempre.
+     */
+    private boolean mightExist(BloomFilter filter, String value) {
+        return !filtersReady || value == null || filter.mightContain(value);
+    }
+
+    /**
+     * Devuelve el resultado de SQL tras un "puede existir" del filtro, contando los falsos positivos.
+     */
+    private boolean confirm(BloomFilter filter, boolean exists) {
+        if (!exists && filtersReady) {
+            filter.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    /**
+     * Añade a los filtros el correo y el teléfono de un cliente escrito en la base de datos.
+     * También la usa el repositorio reactivo, cuyas escrituras no pasan por este repositorio.
+     */
+    void remember(String email, String phone) {
+        if (email != null) {
+            emailFilter.put(normalizeEmail(email));
+        }
+        if (phone != null) {
+            phoneFilter.put(phone);
+        }
+    }
+
+    /**
+     * Normaliza un correo como lo compara MySQL, sin distinguir mayúsculas.
+     */
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
 }
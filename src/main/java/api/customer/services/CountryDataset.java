@@ -0,0 +1,163 @@
+package api.customer.services;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import api.customer.models.CountryProfile;
+
+/**
+ * Tabla inmutable de perfiles de países indexada por código ISO 3166-1 numérico.
+ * Las búsquedas son lecturas directas de un arreglo de 1000 posiciones, sin acceso
+ * a la red ni asignación de objetos.
+ * El conjunto se guarda en un formato binario compacto generado en la compilación por
+ * `api.customer.tools.CountryDatasetGenerator` y se incluye como el recurso `RESOURCE`.
+ */
+public final class CountryDataset {
+
+    /** Ruta del recurso con el conjunto de datos dentro de la aplicación. */
+    public static final String RESOURCE = "countries/countries.bin";
+
+    private static final int MAGIC = 0x43545259; // "CTRY"
+    private static final int VERSION = 1;
+    private static final int TABLE_SIZE = 1000; // Códigos ISO numéricos de 000 a 999
+
+    private final CountryProfile[] byNumericCode;
+    private final List<CountryProfile> profiles;
+
+    private CountryDataset(CountryProfile[] byNumericCode, List<CountryProfile> profiles) {
+        this.byNumericCode = byNumericCode;
+        this.profiles = Collections.unmodifiableList(profiles);
+    }
+
+    /**
+     * Busca un país por su código ISO numérico.
+     *
+     * @param numericCode Código ISO 3166-1 numérico.
+     * @return El perfil del país, o `null` si no existe.
+     */
+    public CountryProfile get(int numericCode) {
+        if (numericCode < 0 || numericCode >= TABLE_SIZE) {
+            return null;
+        }
+        return byNumericCode[numericCode];
+    }
+
+    /**
+     * Busca un país por su código ISO numérico escrito como texto (ejemplo: "840" o "076").
+     *
+     * @param code Código del país.
+     * @return El perfil del país, o `null` si no existe o el código no es numérico.
+     */
+    public CountryProfile get(String code) {
+        int length = code.length();
+        if (length == 0 || length > 3) {
+            return null;
+        }
+        int numericCode = 0;
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            numericCode = numericCode * 10 + (c - '0');
+        }
+        return byNumericCode[numericCode];
+    }
+
+    /**
+     * @return Todos los perfiles del conjunto, en orden de código numérico.
+     */
+    public List<CountryProfile> profiles() {
+        return profiles;
+    }
+
+    /**
+     * Lee un conjunto de datos en formato binario.
+     *
+     * @param in Flujo con el conjunto de datos; no se cierra.
+     * @return La tabla de países.
+     * @throws IOException Si el flujo no contiene un conjunto de datos válido.
+     */
+    public static CountryDataset read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readUnsignedShort() != VERSION) {
+            throw new IOException("Unsupported country dataset format");
+        }
+
+        int count = data.readUnsignedShort();
+        CountryProfile[] byNumericCode = new CountryProfile[TABLE_SIZE];
+        List<CountryProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int numericCode = data.readUnsignedShort();
+            String dialRoot = emptyToNull(data.readUTF());
+            int suffixCount = data.readUnsignedShort();
+            List<String> dialSuffixes = new ArrayList<>(suffixCount);
+            for (int j = 0; j < suffixCount; j++) {
+                dialSuffixes.add(data.readUTF());
+            }
+            String demonym = emptyToNull(data.readUTF());
+
+            CountryProfile profile = new CountryProfile(String.format("%03d", numericCode), dialRoot,
+                dialSuffixes, demonym);
+            byNumericCode[numericCode] = profile;
+            profiles.add(profile);
+        }
+        return new CountryDataset(byNumericCode, profiles);
+    }
+
+    /**
+     * Escribe un conjunto de datos en formato binario. Los perfiles cuyo código no es
+     * un código ISO numérico se descartan.
+     *
+     * @param profiles Perfiles a escribir.
+     * @param out      Flujo de destino; no se cierra.
+     * @return Número de países escritos.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public static int write(Collection<CountryProfile> profiles, OutputStream out) throws IOException {
+        CountryProfile[] byNumericCode = new CountryProfile[TABLE_SIZE];
+        int count = 0;
+        for (CountryProfile profile : profiles) {
+            String code = profile.getCode();
+            if (code != null && code.matches("\\d{1,3}") && byNumericCode[Integer.parseInt(code)] == null) {
+                byNumericCode[Integer.parseInt(code)] = profile;
+                count++;
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(count);
+        for (int numericCode = 0; numericCode < TABLE_SIZE; numericCode++) {
+            CountryProfile profile = byNumericCode[numericCode];
+            if (profile == null) {
+                continue;
+            }
+            data.writeShort(numericCode);
+            data.writeUTF(nullToEmpty(profile.getDialRoot()));
+            data.writeShort(profile.getDialSuffixes().size());
+            for (String suffix : profile.getDialSuffixes()) {
+                data.writeUTF(suffix);
+            }
+            data.writeUTF(nullToEmpty(profile.getDemonym()));
+        }
+        data.flush();
+        return count;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,91 @@
+package api.customer.services;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import api.customer.clients.RestCountriesGateway;
+import api.customer.models.CountryProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Tarea opcional que compara el conjunto de datos de países incluido en la aplicación
+ * con la API de RestCountries y reporta las diferencias.
+ * Se ejecuta con la frecuencia de `country.dataset.diff.every`; el valor `off` la desactiva.
+ * El número de países con diferencias se publica en la métrica `country.dataset.differences`.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "country.source", stringValue = "embedded")
+public class CountryDatasetDiffJob {
+
+    @Inject
+    EmbeddedCountryProfileSource source;
+
+    @Inject
+    RestCountriesGateway gateway;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicInteger differences = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        registry.gauge("country.dataset.differences", differences);
+    }
+
+    /**
+     * Descarga todos los países de la API y los compara con el conjunto incluido.
+     */
+    @Scheduled(every = "${country.dataset.diff.every:off}", delayed = "1m",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void diff() {
+        try {
+            List<CountryProfile> live = gateway.fetchAllProfiles().await().indefinitely();
+            CountryDataset dataset = source.dataset();
+            Set<CountryProfile> matched = new HashSet<>();
+            int count = 0;
+
+            for (CountryProfile remote : live) {
+                CountryProfile embedded = dataset.get(remote.getCode());
+                if (embedded != null) {
+                    matched.add(embedded);
+                }
+                if (embedded == null) {
+                    System.err.println("Country dataset: missing country " + remote.getCode());
+                    count++;
+                } else if (!sameData(embedded, remote)) {
+                    System.err.println("Country dataset: country " + remote.getCode() + " changed"
+                        + " (dial " + embedded.getDialRoot() + embedded.getDialSuffixes()
+                        + " -> " + remote.getDialRoot() + remote.getDialSuffixes()
+                        + ", demonym " + embedded.getDemonym() + " -> " + remote.getDemonym() + ")");
+                    count++;
+                }
+            }
+            for (CountryProfile embedded : dataset.profiles()) {
+                if (!matched.contains(embedded)) {
+                    System.err.println("Country dataset: country " + embedded.getCode() + " no longer exists");
+                    count++;
+                }
+            }
+
+            differences.set(count);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("Error: Unable to compare the country dataset with RestCountries - " + e.getMessage());
+        }
+    }
+
+    private static boolean sameData(CountryProfile a, CountryProfile b) {
+        return Objects.equals(a.getDialRoot(), b.getDialRoot())
+            && a.getDialSuffixes().equals(b.getDialSuffixes())
+            && Objects.equals(a.getDemonym(), b.getDemonym());
+    }
+}
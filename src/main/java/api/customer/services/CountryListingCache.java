@@ -0,0 +1,264 @@
+package api.customer.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.cache.ExpiringCache;
+import api.customer.models.Customer;
+import api.customer.models.CustomerChangedEvent;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerPage;
+import api.customer.models.PayloadFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Caché de las respuestas de `GET /customers/country/{code}` ya serializadas, en JSON o en el
+ * formato binario pedido, y opcionalmente también comprimidas con gzip. Una página en caché se sirve copiando sus
+ * bytes, sin consultar la base de datos ni serializar de nuevo.
+ * Cada país tiene un número de generación que forma parte de la clave; un
+ * `CustomerChangedEvent` que afecta al país incrementa la generación, de modo que sus
+ * páginas anteriores dejan de encontrarse y acaban desalojadas por tamaño o tiempo.
+ * Cada página lleva una etiqueta `ETag` derivada de los identificadores y versiones de sus
+ * clientes, que cambia con cualquier escritura de uno de ellos.
+ * La invalidación es local a cada instancia: el evento solo llega a la instancia que hizo la
+ * escritura, y las demás siguen sirviendo sus páginas (y respondiendo `304` con su etiqueta)
+ * hasta que expiran tras `customers.country-cache.ttl`.
+ */
+@ApplicationScoped
+public class CountryListingCache {
+
+    private static final int GZIP_MIN_BYTES = 1024; // Por debajo de este tamaño no compensa comprimir
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L; // Valor inicial del hash FNV-1a de 64 bits
+    private static final long FNV_PRIME = 0x100000001b3L; // Multiplicador del hash FNV-1a de 64 bits
+
+    @Inject
+    CustomerFieldWriter fieldWriter; // Serializa solo los campos pedidos con `fields=`
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "customers.country-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customers.country-cache.maximum-size", defaultValue = "1000")
+    int maximumSize;
+
+    @ConfigProperty(name = "customers.country-cache.ttl", defaultValue = "10m")
+    Duration ttl;
+
+    @ConfigProperty(name = "customers.country-cache.gzip", defaultValue = "true")
+    boolean gzip;
+
+    private ExpiringCache<String, EncodedPage> pages; // Páginas por país, generación, cursor, límite, campos y formato
+    private final ConcurrentHashMap<Short, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Página de clientes ya serializada. Los arreglos no se copian: no deben modificarse.
+     */
+    public static final class EncodedPage {
+        private final byte[] body; // Cuerpo de la respuesta
+        private final byte[] gzipBody; // El mismo cuerpo comprimido con gzip, o `null`
+        private final String nextCursor; // Cursor de la página siguiente, o `null` si es la última
+        private final boolean empty; // La página no contiene clientes
+        private final String etag; // Valor de la etiqueta `ETag` de la página
+
+        EncodedPage(byte[] body, byte[] gzipBody, String nextCursor, boolean empty, String etag) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.nextCursor = nextCursor;
+            this.empty = empty;
+            this.etag = etag;
+        }
+
+        /**
+         * @return Cuerpo de la respuesta.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return El cuerpo comprimido con gzip, o `null` si no se comprimió.
+         */
+        public byte[] getGzipBody() {
+            return gzipBody;
+        }
+
+        /**
+         * @return Cursor de la página siguiente, o `null` si es la última.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        /**
+         * @return `true` si la página no contiene clientes.
+         */
+        public boolean isEmpty() {
+            return empty;
+        }
+
+        /**
+         * @return Valor de la etiqueta `ETag` de la página, sin comillas.
+         */
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            pages = new ExpiringCache<>(maximumSize, ttl.toNanos(), ttl.toNanos(), 0,
+                Infrastructure.getDefaultWorkerPool());
+            pages.bindTo(registry, "country-listing");
+        }
+    }
+
+    /**
+     * @return `true` si la caché está activada; si no, nadie necesita los países afectados
+     *         por una escritura.
+     */
+    public boolean isEnabled() {
+        return pages != null;
+    }
+
+    /**
+     * Obtiene una página de clientes de un país ya serializada, desde la caché o,
+     * si no está, consultándola y serializándola una vez.
+     *
+     * @param country Código del país (ISO numérico).
+     * @param cursor  Cursor de la página, o `null` para la primera.
+     * @param limit   Tamaño de página solicitado, o `null` para el tamaño por defecto.
+     * @param fields  Campos de cada cliente incluidos en la respuesta.
+     * @param format  Formato del cuerpo.
+     * @param loader  Consulta de la página cuando no está en caché.
+     * @return La página serializada.
+     * @throws IllegalArgumentException Si la consulta rechaza el cursor o el límite.
+     * @throws RuntimeException Si la consulta falla; no se guarda nada en la caché.
+     * @throws IOException Si la página no puede serializarse.
+     */
+    public EncodedPage get(short country, String cursor, Integer limit, Set<CustomerField> fields,
+                           PayloadFormat format, Supplier<CustomerPage> loader) throws IOException {
+        if (pages == null) {
+            return encode(loader.get(), fields, format);
+        }
+        String key = key(country, cursor, limit, fields, format);
+        try {
+            return pages.get(key, k -> encode(loader.get(), fields, format));
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Obtiene una página de clientes de un país solo si ya está en la caché, sin consultarla.
+     *
+     * @param country Código del país (ISO numérico).
+     * @param cursor  Cursor de la página, o `null` para la primera.
+     * @param limit   Tamaño de página solicitado, o `null` para el tamaño por defecto.
+     * @param fields  Campos de cada cliente incluidos en la respuesta.
+     * @param format  Formato del cuerpo.
+     * @return La página serializada, o `null` si no está en la caché.
+     */
+    public EncodedPage getIfPresent(short country, String cursor, Integer limit, Set<CustomerField> fields,
+                                    PayloadFormat format) {
+        return pages == null ? null : pages.getIfPresent(key(country, cursor, limit, fields, format));
+    }
+
+    /**
+     * Calcula la etiqueta `ETag` de una página a partir de los identificadores y versiones de
+     * sus clientes, el cursor siguiente, los campos pedidos y el formato. Basta con leer esas columnas de
+     * la página para obtenerla, sin el resto de datos de los clientes.
+     *
+     * @param page   Página de clientes con sus versiones.
+     * @param fields Campos de cada cliente incluidos en la respuesta.
+     * @param format Formato del cuerpo.
+     * @return Valor de la etiqueta, sin comillas.
+     */
+    public static String etag(CustomerPage page, Set<CustomerField> fields, PayloadFormat format) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, fieldsKey(fields));
+        hash = mix(hash, format.ordinal());
+        for (Customer customer : page.getCustomers()) {
+            hash = mix(hash, customer.getCustomerId());
+            hash = mix(hash, customer.getVersion() == null ? 0 : customer.getVersion());
+        }
+        hash = mix(hash, page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode());
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * Añade los ocho bytes de un valor a un hash FNV-1a de 64 bits.
+     */
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Invalida las páginas de los países afectados por una escritura de clientes.
+     *
+     * @param event Evento con los países afectados.
+     */
+    void onCustomerChanged(@Observes CustomerChangedEvent event) {
+        for (Short country : event.getCountries()) {
+            generation(country).incrementAndGet();
+        }
+    }
+
+    private String key(short country, String cursor, Integer limit, Set<CustomerField> fields, PayloadFormat format) {
+        return country + ":" + generation(country).get() + ":" + cursor + ":" + limit + ":" + fieldsKey(fields)
+            + ":" + format;
+    }
+
+    private AtomicLong generation(short country) {
+        return generations.computeIfAbsent(country, c -> new AtomicLong());
+    }
+
+    /**
+     * Representa un conjunto de campos como una máscara de bits, para usarlo en la clave.
+     */
+    private static int fieldsKey(Set<CustomerField> fields) {
+        int mask = 0;
+        for (CustomerField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Serializa una página con los campos pedidos en el formato dado y, si procede, la comprime.
+     */
+    private EncodedPage encode(CustomerPage page, Set<CustomerField> fields, PayloadFormat format) throws IOException {
+        byte[] body = fieldWriter.writerFor(fields, format).writeValueAsBytes(page.getCustomers());
+        byte[] compressed = null;
+        if (gzip && body.length >= GZIP_MIN_BYTES) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(body);
+            }
+            compressed = buffer.toByteArray();
+        }
+        return new EncodedPage(body, compressed, page.getNextCursor(), page.getCustomers().isEmpty(),
+            etag(page, fields, format));
+    }
+}
@@ -0,0 +1,116 @@
+package api.customer.services;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.cache.ExpiringCache;
+import api.customer.clients.RestCountriesGateway;
+import api.customer.concurrent.SingleFlight;
+import api.customer.interfaces.ICountryProfileSource;
+import api.customer.models.CountryProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Carga perfiles de países desde RestCountries a través de una caché en memoria compartida
+ * por `CountryService` y `ReactiveCountryService`.
+ * Las cargas concurrentes de un mismo código, síncronas o asíncronas, comparten una sola
+ * consulta a la API, y toda consulta se abandona si supera `country.fetch.timeout`.
+ * Es la fuente de países por defecto (`country.source=remote`).
+ */
+@ApplicationScoped
+@UnlessBuildProperty(name = "country.source", stringValue = "embedded", enableIfMissing = true)
+public class CountryProfileLoader implements ICountryProfileSource {
+
+    @Inject
+    RestCountriesGateway gateway;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "country.cache.maximum-size", defaultValue = "300")
+    int cacheMaximumSize;
+
+    @ConfigProperty(name = "country.cache.ttl", defaultValue = "24h")
+    Duration cacheTtl;
+
+    @ConfigProperty(name = "country.cache.negative-ttl", defaultValue = "10m")
+    Duration cacheNegativeTtl;
+
+    @ConfigProperty(name = "country.cache.refresh-ahead", defaultValue = "1h")
+    Duration cacheRefreshAhead;
+
+    @ConfigProperty(name = "country.fetch.max-wait", defaultValue = "5s")
+    Duration fetchMaxWait;
+
+    @ConfigProperty(name = "country.fetch.timeout", defaultValue = "4s")
+    Duration fetchTimeout;
+
+    private ExpiringCache<String, CountryProfile> cache; // Perfiles de países por código.
+    private SingleFlight<String, CountryProfile> fetches; // Consultas en curso a la API por código.
+
+    /**
+     * Inicializa la caché de países y el agrupador de consultas con la configuración
+     * de la aplicación.
+     */
+    @PostConstruct
+    void init() {
+        this.cache = new ExpiringCache<>(cacheMaximumSize, cacheTtl.toNanos(), cacheNegativeTtl.toNanos(),
+            cacheRefreshAhead.toNanos(), Infrastructure.getDefaultWorkerPool());
+        this.cache.bindTo(registry, "country");
+        this.fetches = new SingleFlight<>(fetchMaxWait.toNanos());
+        this.fetches.bindTo(registry, "country");
+    }
+
+    /**
+     * Obtiene el perfil de un país bloqueando al hilo actual hasta tenerlo.
+     *
+     * @param countryCode Código del país, sin espacios.
+     * @return El perfil del país, o `null` si el país no existe.
+     * @throws Exception Si la consulta falla o supera el tiempo máximo.
+     */
+    @Override
+    public CountryProfile load(String countryCode) throws Exception {
+        return cache.get(countryCode, code -> fetches.execute(code, () -> fetch(code).await().indefinitely()));
+    }
+
+    /**
+     * Obtiene el perfil de un país sin bloquear al hilo actual.
+     *
+     * @param countryCode Código del país, sin espacios.
+     * @return Un `Uni` con el perfil del país, o con `null` si el país no existe.
+     */
+    @Override
+    public Uni<CountryProfile> loadAsync(String countryCode) {
+        return Uni.createFrom().completionStage(() -> cache.getAsync(countryCode,
+            code -> fetches.submit(code, () -> fetch(code).subscribeAsCompletionStage())));
+    }
+
+    /**
+     * Obtiene el perfil de todos los países con una sola consulta a la API.
+     *
+     * @return Los perfiles de todos los países con código ISO numérico.
+     * @throws Exception Si la consulta falla o supera el tiempo máximo.
+     */
+    @Override
+    public List<CountryProfile> loadAll() throws Exception {
+        return gateway.fetchAllProfiles()
+            .ifNoItem().after(fetchTimeout).fail()
+            .await().indefinitely();
+    }
+
+    /**
+     * Consulta la API, incluidos los reintentos, dentro del tiempo máximo configurado.
+     */
+    private Uni<CountryProfile> fetch(String countryCode) {
+        return gateway.fetchProfile(countryCode)
+            .ifNoItem().after(fetchTimeout).fail();
+    }
+}
@@ -0,0 +1,100 @@
+package api.customer.services;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import api.customer.models.Customer;
+import api.customer.models.CustomerField;
+import api.customer.models.PayloadFormat;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Serializa clientes incluyendo solo los campos pedidos con `fields=`.
+ * Usa una copia del ObjectMapper de la aplicación en la que `Customer` lleva un filtro
+ * de propiedades de Jackson; el ObjectMapper compartido no se modifica, por lo que las
+ * respuestas sin `fields=` se serializan igual que antes.
+ * Para CBOR y Smile se usan copias del mismo ObjectMapper sobre la fábrica de cada formato,
+ * con la misma configuración y módulos que JSON.
+ */
+@ApplicationScoped
+public class CustomerFieldWriter {
+
+    private static final String FILTER_ID = "customerFields";
+
+    @Inject
+    ObjectMapper objectMapper; // ObjectMapper de la aplicación
+
+    private final Map<PayloadFormat, ObjectMapper> mappers = new EnumMap<>(PayloadFormat.class); // ObjectMapper por formato
+    private final Map<PayloadFormat, ObjectMapper> filteringMappers =
+        new EnumMap<>(PayloadFormat.class); // Copias con el filtro de campos aplicado a `Customer`
+
+    @PostConstruct
+    void init() {
+        mappers.put(PayloadFormat.JSON, objectMapper);
+        mappers.put(PayloadFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(PayloadFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+        for (Map.Entry<PayloadFormat, ObjectMapper> entry : mappers.entrySet()) {
+            filteringMappers.put(entry.getKey(),
+                entry.getValue().copy().addMixIn(Customer.class, FilteredCustomer.class));
+        }
+    }
+
+    /**
+     * @param format Formato del cuerpo.
+     * @return El ObjectMapper del formato, con la configuración del de la aplicación.
+     */
+    public ObjectMapper mapperFor(PayloadFormat format) {
+        return mappers.get(format);
+    }
+
+    /**
+     * Obtiene un escritor que serializa los clientes con los campos dados.
+     *
+     * @param fields Campos a incluir.
+     * @return El escritor del ObjectMapper de la aplicación si se piden todos los campos,
+     *         o uno que omite los demás.
+     */
+    public ObjectWriter writerFor(Set<CustomerField> fields) {
+        return writerFor(fields, PayloadFormat.JSON);
+    }
+
+    /**
+     * Obtiene un escritor que serializa los clientes con los campos dados en un formato.
+     *
+     * @param fields Campos a incluir.
+     * @param format Formato del cuerpo.
+     * @return El escritor del ObjectMapper del formato si se piden todos los campos,
+     *         o uno que omite los demás.
+     */
+    public ObjectWriter writerFor(Set<CustomerField> fields, PayloadFormat format) {
+        if (fields.containsAll(CustomerField.ALL)) {
+            return mappers.get(format).writer();
+        }
+        Set<String> names = new HashSet<>();
+        for (CustomerField field : fields) {
+            names.add(field.getJsonName());
+        }
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+        return filteringMappers.get(format).writer(filters);
+    }
+
+    /**
+     * Mezcla (mix-in) que asocia el filtro de campos a `Customer` solo en la copia del ObjectMapper.
+     */
+    @JsonFilter(FILTER_ID)
+    private abstract static class FilteredCustomer {
+    }
+}
@@ -1,13 +1,44 @@
 package api.customer.services;
 
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.concurrent.Deadline;
 import api.customer.interfaces.ICountryService;
 import api.customer.interfaces.ICustomerRepository;
 import api.customer.interfaces.ICustomerservices;
+import api.customer.interfaces.IReactiveCountryService;
+import api.customer.models.CountryProfile;
 import api.customer.models.Customer;
+import api.customer.models.CustomerBatchResult;
+import api.customer.models.CustomerChangedEvent;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerLookupResult;
+import api.customer.models.CustomerPage;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 /**
  * Servicio para la gestión de clientes.
@@ -21,68 +52,265 @@ public class CustomerService implements ICustomerservices {
     private ICustomerRepository repository;
     @Inject
     private ICountryService servicecounty;
+    @Inject
+    IReactiveCountryService reactiveCountries; // Resuelve el país sin ocupar un hilo mientras se consulta
+    @Inject
+    DialPrefixIndex dialPrefixes; // Índice de prefijos telefónicos para validar teléfonos
+    @Inject
+    RequestExecutor requests; // Ejecuta los accesos a la base de datos de las escrituras concurrentes
+    @Inject
+    Validator validator; // Valida las restricciones de los clientes de una carga masiva
+    @Inject
+    Event<CustomerChangedEvent> changes; // Notifica los países afectados por cada escritura
+    @Inject
+    CountryListingCache countryListings; // Sin caché de listados no hace falta el país anterior
+
+    @ConfigProperty(name = "customers.page.default-size", defaultValue = "50")
+    int defaultPageSize; // Tamaño de página cuando no se indica `limit`
+
+    @ConfigProperty(name = "customers.page.max-size", defaultValue = "500")
+    int maxPageSize; // Tamaño de página máximo, aunque se pida uno mayor
+
+    @ConfigProperty(name = "customers.write.timeout", defaultValue = "5s")
+    Duration writeTimeout; // Plazo de una creación o actualización, desde que llega la petición
+
+    /**
+     * Crea el plazo de una escritura que empieza ahora, según `customers.write.timeout`.
+     *
+     * @return El plazo.
+     */
+    public Deadline writeDeadline() {
+        return Deadline.after(writeTimeout);
+    }
 
     /**
-     * Crea un nuevo cliente con los datos proporcionados.
+     * Crea un nuevo cliente resolviendo primero su país, dentro del tiempo que quede del plazo,
+     * y generando su identificador solo si el país es válido, para que los países
+     * desconocidos, no disponibles o que expiran no consuman identificadores de la secuencia.
+     * La inserción no se inicia si el plazo expiró; la consulta JDBC que reserva
+     * identificadores lleva el tiempo restante como `setQueryTimeout`.
      *
-     * @param firstname       Primer nombre del cliente.
-     * @param middlename      Segundo nombre del cliente (opcional).
-     * @param lastname        Primer apellido del cliente.
-     * @param secondlastname  Segundo apellido del cliente (opcional).
-     * @param email           Correo electrónico del cliente.
-     * @param address         Dirección del cliente.
-     * @param phone           Número de teléfono del cliente.
-     * @param country         Código del país del cliente (ISO numérico).
-     * @param demonym         Gentilicio del país del cliente.
-     * @return `true` si el cliente fue creado con éxito, de lo contrario `false`.
+     * @param customer El cliente a crear; recibe el identificador generado si se crea.
+     * @param deadline Plazo de la operación completa.
+     * @return Un `Uni` con el resultado de la creación; falla con `TimeoutException` si el
+     *         país no se obtiene dentro del plazo.
      */
     @Override
-    public boolean createCustomer(Customer customer) {
+    public Uni<WriteStatus> createCustomer(Customer customer, Deadline deadline) {
+        return deadline.bound(reactiveCountries.getCountryProfile(String.valueOf(customer.getCountry())))
+            .flatMap(resolved -> deadline.ifRemaining(() -> requests.submit(
+                () -> insert(customer, resolved, () -> deadline.runWithin(repository::generateCustomerId)))))
+            .onFailure(failure -> !(failure instanceof TimeoutException)).recoverWithItem(e -> {
+                e.printStackTrace();
+                System.err.println("Error: Unexpected exception while creating customer - " + e.getMessage());
+                return WriteStatus.FAILED;
+            });
+    }
+
+    /**
+     * Crea un nuevo cliente usando un perfil de país ya resuelto.
+     * No se consulta antes si el correo o el teléfono existen: la inserción es una sola
+     * sentencia y los índices únicos de la base de datos rechazan los duplicados.
+     *
+     * @param customer El cliente a crear.
+     * @param profile  Perfil del país del cliente.
+     * @return El resultado de la creación.
+     */
+    @Override
+    public WriteStatus createCustomer(Customer customer, CountryProfile profile) {
+        return insert(customer, profile, repository::generateCustomerId);
+    }
+
+    /**
+     * Completa y guarda un cliente con su perfil de país y un identificador.
+     *
+     * @param customer    El cliente a crear.
+     * @param profile     Perfil del país del cliente.
+     * @param customerIds Proporciona el identificador; solo se llama si el país es válido.
+     * @return El resultado de la creación.
+     */
+    private WriteStatus insert(Customer customer, CountryProfile profile, Supplier<Integer> customerIds) {
         try {
-            // Verificar si el correo electrónico ya existe
-            if (repository.emailExists(customer.getEmail())) {
-                System.err.println("Error: Email already exists - " + customer.getEmail());
-                return false;
+            if (!profile.isAvailable()) {
+                System.err.println("Error: Unable to resolve country " + customer.getCountry());
+                return WriteStatus.COUNTRY_UNAVAILABLE;
             }
 
-            // Verificar si el número de teléfono ya existe
-            if (repository.phoneExists(customer.getPhone())) {
-                System.err.println("Error: Phone number already exists - " + customer.getPhone());
-                return false;
+            // Obtener el demonym
+            String demonym = profile.getDemonym();
+            if (demonym == null || demonym.trim().isEmpty()) {
+                System.err.println("Error: Unable to retrieve demonym for country " + customer.getCountry());
+                return WriteStatus.INVALID_COUNTRY;
             }
+            customer.setDemonym(demonym);
 
             // Generar valores para campos reservados
-            Integer customerId = repository.generateCustomerId();
+            Integer customerId = customerIds.get();
             if (customerId == null || customerId <= 0) {
                 System.err.println("Error: Unable to generate a valid customer ID.");
-                return false;
+                return WriteStatus.FAILED;
             }
             customer.setCustomerId(customerId);
 
-            // Obtener el demonym
-            String demonym = servicecounty.getDemonym(Integer.toString(customer.getCountry()));
-            if (demonym == null || demonym.trim().isEmpty()) {
-                System.err.println("Error: Unable to retrieve demonym for country " + customer.getCountry());
-                return false;
-            }
-            customer.setDemonym(demonym);
-
             // Configurar campos predeterminados
             customer.setDisable(false);
 
             // Crear el cliente en el repositorio
-            boolean success = repository.createCustomer(customer);
-            if (!success) {
-                System.err.println("Error: Unable to create customer in the repository.");
+            WriteStatus status = repository.createCustomer(customer);
+            if (status.isSuccess()) {
+                changes.fire(new CustomerChangedEvent(Set.of(customer.getCountry())));
+            } else {
+                System.err.println("Error: Unable to create customer in the repository - " + status);
+                customer.setCustomerId(null);
             }
 
-            return success;
+            return status;
         } catch (Exception e) {
             e.printStackTrace();
             System.err.println("Error: Unexpected exception while creating customer - " + e.getMessage());
-            return false;
+            return WriteStatus.FAILED;
         }
     }
+
+    /**
+     * Crea varios clientes en una sola operación.
+     * Cada cliente se valida, cada país distinto se resuelve una sola vez, la existencia
+     * de correos y teléfonos se comprueba con una consulta por columna, los identificadores
+     * se reservan en un bloque y los clientes válidos se insertan en un único lote.
+     *
+     * @param customers Clientes a crear.
+     * @return Un resultado por cliente, en el mismo orden que la petición.
+     */
+    @Override
+    public List<CustomerBatchResult> createCustomers(List<Customer> customers) {
+        CustomerBatchResult[] results = new CustomerBatchResult[customers.size()];
+        Map<Short, CountryProfile> profiles = new HashMap<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        // Validar los datos y los duplicados dentro de la propia carga
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            String error = validateForCreate(customer);
+            if (error != null) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.INVALID, error);
+            } else if (!emails.add(normalize(customer.getEmail()))) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.DUPLICATE,
+                    "Email is repeated in the batch");
+            } else if (!phones.add(customer.getPhone())) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.DUPLICATE,
+                    "Phone number is repeated in the batch");
+            }
+        }
+
+        // Comprobar los duplicados en la base de datos con una consulta por columna
+        Set<String> existingEmails = normalizeAll(repository.findExistingEmails(emails));
+        Set<String> existingPhones = repository.findExistingPhones(phones);
+
+        List<Customer> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < customers.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Customer customer = customers.get(i);
+            if (existingEmails.contains(normalize(customer.getEmail()))) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.DUPLICATE,
+                    "Email already exists");
+                continue;
+            }
+            if (existingPhones.contains(customer.getPhone())) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.DUPLICATE,
+                    "Phone number already exists");
+                continue;
+            }
+
+            // Resolver cada país una sola vez
+            CountryProfile profile = profiles.computeIfAbsent(customer.getCountry(),
+                country -> servicecounty.getCountryProfile(Integer.toString(country)));
+            if (!profile.isAvailable()) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.FAILED,
+                    "Country service unavailable");
+                continue;
+            }
+            String demonym = profile.getDemonym();
+            if (!profile.isValid() || demonym == null || demonym.trim().isEmpty()) {
+                results[i] = CustomerBatchResult.rejected(i, CustomerBatchResult.Status.INVALID,
+                    "Invalid country code");
+                continue;
+            }
+            customer.setDemonym(demonym);
+            customer.setDisable(false);
+            accepted.add(customer);
+            acceptedIndexes.add(i);
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                // Reservar los identificadores en un bloque e insertar en un solo lote
+                int firstId = repository.generateCustomerIds(accepted.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    accepted.get(i).setCustomerId(firstId + i);
+                }
+                repository.createCustomers(accepted);
+                Set<Short> countries = new HashSet<>();
+                for (Customer customer : accepted) {
+                    countries.add(customer.getCountry());
+                }
+                changes.fire(new CustomerChangedEvent(countries));
+                for (int i = 0; i < accepted.size(); i++) {
+                    int index = acceptedIndexes.get(i);
+                    results[index] = CustomerBatchResult.created(index, accepted.get(i).getCustomerId());
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.err.println("Error: Unable to create customer batch - " + e.getMessage());
+                for (int i = 0; i < accepted.size(); i++) {
+                    int index = acceptedIndexes.get(i);
+                    accepted.get(i).setCustomerId(null);
+                    results[index] = CustomerBatchResult.rejected(index, CustomerBatchResult.Status.FAILED,
+                        "Unable to create customer");
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Valida los datos de un cliente nuevo con sus restricciones de Bean Validation.
+     * El identificador no se valida porque se asigna al crearlo.
+     *
+     * @param customer Cliente a validar.
+     * @return El primer error encontrado, o `null` si el cliente es válido.
+     */
+    private String validateForCreate(Customer customer) {
+        if (customer == null) {
+            return "Customer is required";
+        }
+        for (ConstraintViolation<Customer> violation : validator.validate(customer)) {
+            if (!"customerId".equals(violation.getPropertyPath().toString())) {
+                return violation.getMessage();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Normaliza un correo para compararlo como lo hace la base de datos, sin distinguir mayúsculas.
+     */
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalizeAll(Set<String> emails) {
+        Set<String> normalized = new HashSet<>();
+        for (String email : emails) {
+            normalized.add(normalize(email));
+        }
+        return normalized;
+    }
+
     /**
      * Obtiene una lista de todos los clientes registrados.
      *
@@ -104,6 +332,79 @@ public class CustomerService implements ICustomerservices {
         return repository.findByCountry(country);
     }
 
+    /**
+     * Obtiene una página de clientes ordenados por identificador.
+     *
+     * @param cursor Cursor devuelto en la página anterior, o `null` para la primera página.
+     * @param limit  Tamaño de página solicitado, o `null` para el tamaño por defecto.
+     * @param fields Campos a leer de cada cliente.
+     * @return La página de clientes y el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor o el tamaño de página no son válidos.
+     */
+    @Override
+    public CustomerPage findPage(String cursor, Integer limit, Set<CustomerField> fields) {
+        int afterCustomerId = CustomerPage.decodeCursor(cursor);
+        int pageSize = pageSize(limit);
+        // Se pide un cliente de más para saber si existe una página siguiente.
+        return toPage(repository.findPage(afterCustomerId, pageSize + 1, fields), pageSize);
+    }
+
+    /**
+     * Recorre todos los clientes activos sin cargarlos en memoria, para exportaciones.
+     *
+     * @param fields  Campos a leer de cada cliente.
+     * @param handler Función que recibe cada cliente a medida que se lee.
+     * @return Número de clientes recorridos.
+     * @throws SQLException Si la consulta falla.
+     * @throws IOException  Si la función que recibe los clientes falla.
+     */
+    @Override
+    public long forEachCustomer(Set<CustomerField> fields, ICustomerRepository.CustomerHandler handler)
+            throws SQLException, IOException {
+        return repository.forEachCustomer(fields, handler);
+    }
+
+    /**
+     * Obtiene una página de clientes de un país ordenados por identificador.
+     *
+     * @param country Código del país (ISO numérico).
+     * @param cursor  Cursor devuelto en la página anterior, o `null` para la primera página.
+     * @param limit   Tamaño de página solicitado, o `null` para el tamaño por defecto.
+     * @param fields  Campos a leer de cada cliente.
+     * @return La página de clientes y el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor o el tamaño de página no son válidos.
+     */
+    @Override
+    public CustomerPage findPageByCountry(short country, String cursor, Integer limit, Set<CustomerField> fields) {
+        int afterCustomerId = CustomerPage.decodeCursor(cursor);
+        int pageSize = pageSize(limit);
+        return toPage(repository.findPageByCountry(country, afterCustomerId, pageSize + 1, fields), pageSize);
+    }
+
+    /**
+     * Calcula el tamaño de página efectivo a partir del solicitado.
+     */
+    int pageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be greater than 0");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Construye la página a partir de hasta `pageSize + 1` clientes consultados.
+     */
+    CustomerPage toPage(List<Customer> customers, int pageSize) {
+        if (customers.size() <= pageSize) {
+            return new CustomerPage(customers, null);
+        }
+        List<Customer> page = customers.subList(0, pageSize);
+        return new CustomerPage(page, CustomerPage.encodeCursor(page.get(pageSize - 1).getCustomerId()));
+    }
+
     /**
      * Busca un cliente por su identificador único.
      *
@@ -117,39 +418,257 @@ public class CustomerService implements ICustomerservices {
     }
 
     /**
-     * Actualiza los datos de un cliente existente.
+     * Obtiene la versión y la fecha de modificación de un cliente, desde la caché si está en
+     * ella o con una consulta de solo esas columnas.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return La versión del cliente, o `null` si no se encuentra.
+     */
+    @Override
+    public CustomerVersion findVersion(int customerId) {
+        return repository.findVersion(customerId);
+    }
+
+    /**
+     * Busca varios clientes por sus identificadores. Los identificadores repetidos se
+     * consultan una sola vez, y los que ya están en la caché no llegan a la base de datos.
+     *
+     * @param customerIds Identificadores de los clientes, posiblemente repetidos.
+     * @return Un resultado por identificador, en el mismo orden, que indica si se encontró.
+     */
+    @Override
+    public List<CustomerLookupResult> findByIds(List<Integer> customerIds) {
+        Map<Integer, Customer> found = repository.findByIds(new LinkedHashSet<>(customerIds));
+        List<CustomerLookupResult> results = new ArrayList<>(customerIds.size());
+        for (Integer customerId : customerIds) {
+            results.add(CustomerLookupResult.of(customerId, found.get(customerId)));
+        }
+        return results;
+    }
+
+    /**
+     * Actualiza los datos de un cliente resolviendo el país nuevo y leyendo el cliente actual
+     * a la vez, ya que ninguno depende del otro. Cada uno dispone solo del tiempo que quede
+     * del plazo, y la actualización no se inicia si expiró; la lectura JDBC lleva ese tiempo
+     * como `setQueryTimeout`, por lo que no sigue ocupando la conexión tras el plazo.
      *
      * @param customerId Identificador único del cliente.
      * @param email      Nuevo correo electrónico.
      * @param address    Nueva dirección.
      * @param phone      Nuevo número de teléfono.
      * @param country    Nuevo código del país.
-     * @return `true` si el cliente fue actualizado con éxito, de lo contrario `false`.
+     * @param deadline   Plazo de la operación completa.
+     * @return Un `Uni` con el resultado: `INVALID_COUNTRY` si el país no es válido,
+     *         `COUNTRY_UNAVAILABLE` si no pudo consultarse e `INVALID_PHONE_PREFIX` si el
+     *         teléfono no corresponde al país. Falla con
+     *         `TimeoutException` si el país o el cliente no se obtienen dentro del plazo.
      */
     @Override
-    public boolean updateCustomer(int customerId, String email, String address, String phone, short country) {
-        // Verificar si el correo electrónico ya existe y pertenece a otro cliente
-        if (email != null && repository.emailExistsForOtherCustomer(customerId, email)) {
-            System.err.println("Error: Email already exists for another customer - " + email);
-            return false;
-        }
+    public Uni<WriteStatus> updateCustomer(int customerId, String email, String address, String phone, short country,
+                                           Deadline deadline) {
+        Uni<CountryProfile> profile = deadline.bound(reactiveCountries.getCountryProfile(Short.toString(country)));
+        // El país anterior solo hace falta para invalidar su listado en caché si cambia.
+        Uni<Customer> current = countryListings.isEnabled()
+            ? requests.submit(() -> repository.findById(customerId), deadline)
+            : Uni.createFrom().nullItem();
+
+        return Uni.combine().all().unis(profile, current)
+            .withUni((resolved, before) -> {
+                if (!resolved.isAvailable()) {
+                    return Uni.createFrom().item(WriteStatus.COUNTRY_UNAVAILABLE);
+                }
+                if (!resolved.isValid()) {
+                    return Uni.createFrom().item(WriteStatus.INVALID_COUNTRY);
+                }
+                if (!dialPrefixes.matches(resolved, phone)) {
+                    return Uni.createFrom().item(WriteStatus.INVALID_PHONE_PREFIX);
+                }
+                return deadline.ifRemaining(() -> requests.submit(
+                    () -> update(customerId, email, address, phone, country, resolved, before)));
+            })
+            .onFailure(failure -> !(failure instanceof TimeoutException)).recoverWithItem(e -> {
+                e.printStackTrace();
+                System.err.println("Error: Unexpected exception while updating customer " + customerId
+                    + " - " + e.getMessage());
+                return WriteStatus.FAILED;
+            });
+    }
+
+    /**
+     * Actualiza los datos de un cliente existente usando un perfil de país ya resuelto.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param email      Nuevo correo electrónico.
+     * @param address    Nueva dirección.
+     * @param phone      Nuevo número de teléfono.
+     * @param country    Nuevo código del país.
+     * @param profile    Perfil del país.
+     * @return El resultado de la actualización; los conflictos de correo y teléfono con otros
+     *         clientes se detectan por los índices únicos en la propia sentencia.
+     */
+    @Override
+    public WriteStatus updateCustomer(int customerId, String email, String address, String phone, short country,
+                                      CountryProfile profile) {
+        // País anterior del cliente, para invalidar también su listado en caché si cambia de país
+        Customer before = countryListings.isEnabled() ? repository.findById(customerId) : null;
+        return update(customerId, email, address, phone, country, profile, before);
+    }
 
-        // Verificar si el número de teléfono ya existe y pertenece a otro cliente
-        if (phone != null && repository.phoneExistsForOtherCustomer(customerId, phone)) {
-            System.err.println("Error: Phone number already exists for another customer - " + phone);
-            return false;
+    /**
+     * Guarda los datos nuevos de un cliente y notifica los países afectados.
+     *
+     * @param before El cliente antes de actualizarlo, o `null` si no se encontró o no se leyó.
+     * @return El resultado de la actualización.
+     */
+    private WriteStatus update(int customerId, String email, String address, String phone, short country,
+                               CountryProfile profile, Customer before) {
+        if (!profile.isAvailable()) {
+            System.err.println("Error: Unable to resolve country " + country);
+            return WriteStatus.COUNTRY_UNAVAILABLE;
         }
 
         // Obtener el demonym
-        String demonym = servicecounty.getDemonym(Integer.toString(country));
+        String demonym = profile.getDemonym();
         if (demonym == null || demonym.trim().isEmpty()) {
             System.err.println("Error: Unable to retrieve demonym for country " + country);
-            return false;
+            return WriteStatus.INVALID_COUNTRY;
+        }
+
+        WriteStatus status = repository.updateCustomer(customerId, email, address, phone, country, demonym);
+        if (status.isSuccess()) {
+            Set<Short> countries = new HashSet<>();
+            countries.add(country);
+            if (before != null) {
+                countries.add(before.getCountry());
+            }
+            changes.fire(new CustomerChangedEvent(countries));
+        } else {
+            System.err.println("Error: Unable to update customer " + customerId + " - " + status);
+        }
+        return status;
+    }
+
+    /**
+     * Modifica solo los campos presentes de un cliente. El país nuevo solo se resuelve si
+     * viene en la petición; el cliente actual solo se lee si hay que validar su teléfono
+     * contra un país, y ambas consultas se hacen a la vez dentro del plazo. Esa lectura puede
+     * venir de la caché, por lo que el país o el teléfono con los que se validó se comprueban
+     * de nuevo en el propio `UPDATE`, y si otra escritura los cambió el resultado es `CONFLICT`.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param patch      Campos a modificar.
+     * @param deadline   Plazo de la operación completa.
+     * @return Un `Uni` con el cliente tal como quedó guardado, o con el motivo por el que no se
+     *         modificó. Falla con `TimeoutException` si el plazo expira antes de guardar.
+     */
+    @Override
+    public Uni<CustomerWriteResult> patchCustomer(int customerId, CustomerPatch patch, Deadline deadline) {
+        Short country = patch.getCountry();
+        boolean checksPhone = country != null || patch.getPhone() != null;
+        Uni<CountryProfile> profile = country == null
+            ? Uni.createFrom().nullItem()
+            : deadline.bound(reactiveCountries.getCountryProfile(Short.toString(country)));
+        Uni<Customer> current = checksPhone
+            ? requests.submit(() -> repository.findById(customerId), deadline)
+            : Uni.createFrom().nullItem();
+
+        return Uni.combine().all().unis(profile, current)
+            .withUni((resolved, before) -> {
+                if (checksPhone && before == null) {
+                    return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.NOT_FOUND));
+                }
+                if (resolved != null && !resolved.isAvailable()) {
+                    return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.COUNTRY_UNAVAILABLE));
+                }
+                if (resolved != null && !resolved.isValid()) {
+                    return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.INVALID_COUNTRY));
+                }
+                // Si solo cambia el teléfono, se valida contra el país que el cliente ya tiene.
+                Uni<CountryProfile> phoneCountry = resolved != null || !checksPhone
+                    ? Uni.createFrom().item(resolved)
+                    : deadline.bound(reactiveCountries.getCountryProfile(Short.toString(before.getCountry())));
+                return phoneCountry.flatMap(prefixes -> {
+                    if (prefixes != null && !prefixes.isAvailable()) {
+                        return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.COUNTRY_UNAVAILABLE));
+                    }
+                    if (prefixes != null) {
+                        String phone = patch.getPhone() != null ? patch.getPhone() : before.getPhone();
+                        if (!dialPrefixes.matches(prefixes, phone)) {
+                            return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.INVALID_PHONE_PREFIX));
+                        }
+                    }
+                    return deadline.ifRemaining(() -> requests.submit(() -> patch(customerId, patch, resolved, before)));
+                });
+            })
+            .onFailure(failure -> !(failure instanceof TimeoutException)).recoverWithItem(e -> {
+                e.printStackTrace();
+                System.err.println("Error: Unexpected exception while patching customer " + customerId
+                    + " - " + e.getMessage());
+                return CustomerWriteResult.failed(WriteStatus.FAILED);
+            });
+    }
+
+    /**
+     * Guarda los campos modificados de un cliente y notifica los países afectados.
+     *
+     * @param profile Perfil del país nuevo, o `null` si el país no cambia.
+     * @param before  El cliente con el que se validó el teléfono, o `null` si no se leyó.
+     * @return El resultado de la modificación.
+     */
+    private CustomerWriteResult patch(int customerId, CustomerPatch patch, CountryProfile profile, Customer before) {
+        String demonym = null;
+        if (profile != null) {
+            if (!profile.isAvailable()) {
+                System.err.println("Error: Unable to resolve country " + patch.getCountry());
+                return CustomerWriteResult.failed(WriteStatus.COUNTRY_UNAVAILABLE);
+            }
+            demonym = profile.getDemonym();
+            if (demonym == null || demonym.trim().isEmpty()) {
+                System.err.println("Error: Unable to retrieve demonym for country " + patch.getCountry());
+                return CustomerWriteResult.failed(WriteStatus.INVALID_COUNTRY);
+            }
         }
 
-        return repository.updateCustomer(customerId, email, address, phone, country, demonym);
+        CustomerWriteResult result = repository.patchCustomer(customerId, patch, demonym,
+            expectedCountry(patch, before), expectedPhone(patch, before));
+        if (result.getStatus().isSuccess()) {
+            Set<Short> countries = new HashSet<>();
+            countries.add(result.getCustomer().getCountry());
+            if (before != null) {
+                countries.add(before.getCountry());
+            }
+            changes.fire(new CustomerChangedEvent(countries));
+        } else {
+            System.err.println("Error: Unable to patch customer " + customerId + " - " + result.getStatus());
+        }
+        return result;
     }
 
+    /**
+     * País que un cliente debe seguir teniendo al modificarlo: el que se usó para validar un
+     * teléfono nuevo cuando el país no cambia.
+     *
+     * @param patch  Campos a modificar.
+     * @param before El cliente con el que se validó el teléfono, o `null` si no se leyó.
+     * @return El país esperado, o `null` si la modificación no depende de él.
+     */
+    static Short expectedCountry(CustomerPatch patch, Customer before) {
+        return before != null && patch.getCountry() == null && patch.getPhone() != null
+            ? before.getCountry() : null;
+    }
+
+    /**
+     * Teléfono que un cliente debe seguir teniendo al modificarlo: el que se validó contra el
+     * país nuevo cuando el teléfono no cambia.
+     *
+     * @param patch  Campos a modificar.
+     * @param before El cliente con el que se validó el teléfono, o `null` si no se leyó.
+     * @return El teléfono esperado, o `null` si la modificación no depende de él.
+     */
+    static String expectedPhone(CustomerPatch patch, Customer before) {
+        return before != null && patch.getCountry() != null && patch.getPhone() == null
+            ? before.getPhone() : null;
+    }
 
     /**
      * Elimina un cliente por su identificador único.
@@ -159,7 +678,13 @@ public class CustomerService implements ICustomerservices {
      */
     @Override
     public boolean deleteCustomer(int customerId) {
-        return repository.deleteCustomer(customerId);
+        // El país del cliente solo hace falta para invalidar su listado en caché.
+        Customer before = countryListings.isEnabled() ? repository.findById(customerId) : null;
+        boolean success = repository.deleteCustomer(customerId);
+        if (success && before != null) {
+            changes.fire(new CustomerChangedEvent(Set.of(before.getCountry())));
+        }
+        return success;
     }
 
 }
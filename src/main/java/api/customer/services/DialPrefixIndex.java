@@ -0,0 +1,110 @@
+package api.customer.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.interfaces.ICountryService;
+import api.customer.models.CountryProfile;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Índice de prefijos telefónicos de todos los países, construido como un `DialPrefixTrie`
+ * a partir de la fuente de datos que usa `ICountryService`.
+ * El índice se construye en segundo plano al arrancar; mientras no está disponible, o si
+ * un país no figura en él, la validación recurre a `CountryProfile.matchesPhone`, de modo
+ * que ninguna consulta se bloquea esperando la construcción.
+ */
+@ApplicationScoped
+public class DialPrefixIndex {
+
+    @Inject
+    ICountryService countryService;
+
+    @ConfigProperty(name = "country.dial-prefix.retry-after", defaultValue = "1m")
+    Duration retryAfter;
+
+    private volatile DialPrefixTrie trie; // null hasta que se construye
+    private volatile long nextAttempt = System.nanoTime();
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    /**
+     * Inicia la construcción del índice al arrancar la aplicación.
+     */
+    void onStart(@Observes StartupEvent event) {
+        buildAsync();
+    }
+
+    /**
+     * Valida si un teléfono corresponde al prefijo telefónico de un país.
+     *
+     * @param profile Perfil del país.
+     * @param phone   Número de teléfono sin la raíz internacional (ejemplo: "8095551234").
+     * @return `true` si el teléfono corresponde al país, de lo contrario `false`.
+     */
+    public boolean matches(CountryProfile profile, String phone) {
+        DialPrefixTrie current = current();
+        int country = DialPrefixTrie.numericCode(profile.getCode());
+        // Un país sin sufijos solo figura en el árbol para `candidates`; no valida teléfonos.
+        if (current == null || !profile.isValid() || profile.getDialSuffixes().isEmpty()
+                || !current.contains(country)) {
+            return profile.matchesPhone(phone);
+        }
+        return current.matches(country, phone);
+    }
+
+    /**
+     * Obtiene los países a los que puede pertenecer un teléfono en formato internacional.
+     *
+     * @param phone Número de teléfono con su prefijo internacional (ejemplo: "+1 809 555 1234").
+     * @return Códigos ISO numéricos de los países candidatos; vacía si no hay coincidencias
+     *         o el índice aún no está disponible.
+     */
+    public List<Integer> candidates(String phone) {
+        DialPrefixTrie current = current();
+        return current == null ? List.of() : current.candidates(phone);
+    }
+
+    /**
+     * Devuelve el índice si ya está construido; si no, programa su construcción.
+     */
+    private DialPrefixTrie current() {
+        DialPrefixTrie current = trie;
+        if (current == null) {
+            buildAsync();
+        }
+        return current;
+    }
+
+    /**
+     * Construye el índice en el pool de trabajadores si no existe, no hay otra construcción
+     * en curso y ha pasado el tiempo de espera tras el último intento fallido.
+     */
+    private void buildAsync() {
+        if (trie != null || System.nanoTime() - nextAttempt < 0 || !building.compareAndSet(false, true)) {
+            return;
+        }
+        Infrastructure.getDefaultWorkerPool().execute(() -> {
+            try {
+                List<CountryProfile> profiles = countryService.getAllCountryProfiles();
+                if (profiles.isEmpty()) {
+                    System.err.println("Error: Unable to build the dial prefix index, no countries available");
+                    nextAttempt = System.nanoTime() + retryAfter.toNanos();
+                } else {
+                    trie = DialPrefixTrie.build(profiles);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+                nextAttempt = System.nanoTime() + retryAfter.toNanos();
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,236 @@
+package api.customer.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import api.customer.models.CountryProfile;
+
+/**
+ * Árbol de prefijos (trie) inmutable sobre los dígitos de los prefijos telefónicos
+ * internacionales (raíz + sufijo) de todos los países.
+ * Responde si un teléfono corresponde a un país y qué países pueden corresponder a un
+ * teléfono recorriendo una sola vez sus dígitos, sin asignar objetos. Los caracteres que
+ * no son dígitos (espacios, guiones, paréntesis, "+") se ignoran.
+ */
+public final class DialPrefixTrie {
+
+    private static final int TABLE_SIZE = 1000; // Códigos ISO numéricos de 000 a 999
+    private static final int NONE = -1;
+
+    private final int[] children; // Hijo del nodo n por el dígito d en [n * 10 + d]; 0 si no existe
+    private final int[][] countriesByNode; // Países cuyo prefijo termina en cada nodo, ordenados
+    private final List<List<Integer>> candidatesByNode; // Las mismas listas, inmutables, para devolver
+    private final int[] rootNodeByCountry; // Nodo al final de la raíz de cada país, o NONE
+
+    private DialPrefixTrie(int[] children, int[][] countriesByNode, List<List<Integer>> candidatesByNode,
+                           int[] rootNodeByCountry) {
+        this.children = children;
+        this.countriesByNode = countriesByNode;
+        this.candidatesByNode = candidatesByNode;
+        this.rootNodeByCountry = rootNodeByCountry;
+    }
+
+    /**
+     * Construye el árbol a partir de los perfiles de todos los países. Los perfiles cuyo
+     * código no es un código ISO numérico o que no tienen prefijo telefónico se ignoran.
+     *
+     * @param profiles Perfiles de los países.
+     * @return El árbol construido.
+     */
+    public static DialPrefixTrie build(Collection<CountryProfile> profiles) {
+        Builder builder = new Builder();
+        for (CountryProfile profile : profiles) {
+            int country = numericCode(profile.getCode());
+            if (country == NONE || profile.getDialRoot() == null) {
+                continue;
+            }
+            int rootNode = builder.insert(0, profile.getDialRoot());
+            builder.rootNodeByCountry[country] = rootNode;
+            if (profile.getDialSuffixes().isEmpty()) {
+                builder.mark(rootNode, country);
+            }
+            for (String suffix : profile.getDialSuffixes()) {
+                builder.mark(builder.insert(rootNode, suffix), country);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Valida si un teléfono nacional (sin la raíz internacional) empieza por alguno de los
+     * sufijos del prefijo de un país. Si el teléfono empieza por "+" se interpreta en formato
+     * internacional completo. Normaliza el teléfono igual que `CountryProfile.matchesPhone`,
+     * de modo que ambos dan el mismo resultado para los países con sufijos.
+     *
+     * @param country Código ISO numérico del país.
+     * @param phone   Número de teléfono.
+     * @return `true` si el teléfono corresponde al país, de lo contrario `false`.
+     */
+    public boolean matches(int country, CharSequence phone) {
+        if (country < 0 || country >= TABLE_SIZE || phone == null || rootNodeByCountry[country] == NONE) {
+            return false;
+        }
+
+        int length = phone.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(phone.charAt(start))) {
+            start++;
+        }
+        boolean international = start < length && phone.charAt(start) == '+';
+        int node = international ? 0 : rootNodeByCountry[country];
+        // Con un sufijo vacío cualquier teléfono de la raíz corresponde al país.
+        boolean emptySuffix = !international && contains(node, country);
+
+        for (int i = start; i < length; i++) {
+            char c = phone.charAt(i);
+            if (!isDigit(c)) {
+                continue;
+            }
+            if (emptySuffix) {
+                return true;
+            }
+            node = children[node * 10 + (c - '0')];
+            if (node == 0) {
+                return false;
+            }
+            if (contains(node, country)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene los países a los que puede pertenecer un teléfono en formato internacional
+     * (con o sin "+"), según el prefijo más largo que coincide.
+     *
+     * @param phone Número de teléfono con su prefijo internacional (ejemplo: "+1 809 555 1234").
+     * @return Lista inmutable con los códigos ISO numéricos de los países candidatos,
+     *         vacía si ningún prefijo coincide.
+     */
+    public List<Integer> candidates(CharSequence phone) {
+        if (phone == null) {
+            return List.of();
+        }
+        int node = 0;
+        int deepestMatch = NONE;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (!isDigit(c)) {
+                continue;
+            }
+            node = children[node * 10 + (c - '0')];
+            if (node == 0) {
+                break;
+            }
+            if (countriesByNode[node] != null) {
+                deepestMatch = node;
+            }
+        }
+        return deepestMatch == NONE ? List.of() : candidatesByNode.get(deepestMatch);
+    }
+
+    /**
+     * Indica si el árbol contiene el prefijo telefónico de un país.
+     *
+     * @param country Código ISO numérico del país.
+     * @return `true` si el país tiene prefijo en el árbol, de lo contrario `false`.
+     */
+    public boolean contains(int country) {
+        return country >= 0 && country < TABLE_SIZE && rootNodeByCountry[country] != NONE;
+    }
+
+    /**
+     * Indica si el país tiene un prefijo que termina en el nodo.
+     */
+    private boolean contains(int node, int country) {
+        int[] countries = countriesByNode[node];
+        return countries != null && Arrays.binarySearch(countries, country) >= 0;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Convierte un código de país a su valor ISO numérico, o `NONE` si no es numérico.
+     */
+    static int numericCode(String code) {
+        if (code == null || code.isEmpty() || code.length() > 3) {
+            return NONE;
+        }
+        int value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (!isDigit(c)) {
+                return NONE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Acumula los nodos del árbol durante la construcción.
+     */
+    private static final class Builder {
+        private int[] children = new int[10 * 256];
+        private final List<List<Integer>> countries = new ArrayList<>();
+        private final int[] rootNodeByCountry = new int[TABLE_SIZE];
+        private int nodeCount = 1; // El nodo 0 es la raíz del árbol
+
+        Builder() {
+            Arrays.fill(rootNodeByCountry, NONE);
+            countries.add(null);
+        }
+
+        /**
+         * Inserta los dígitos de un prefijo a partir de un nodo y devuelve el nodo final.
+         */
+        int insert(int node, String digits) {
+            for (int i = 0; i < digits.length(); i++) {
+                char c = digits.charAt(i);
+                if (!isDigit(c)) {
+                    continue;
+                }
+                int slot = node * 10 + (c - '0');
+                if (children[slot] == 0) {
+                    if (nodeCount * 10 + 10 > children.length) {
+                        children = Arrays.copyOf(children, children.length * 2);
+                    }
+                    countries.add(null);
+                    children[slot] = nodeCount++;
+                }
+                node = children[slot];
+            }
+            return node;
+        }
+
+        void mark(int node, int country) {
+            if (countries.get(node) == null) {
+                countries.set(node, new ArrayList<>());
+            }
+            if (!countries.get(node).contains(country)) {
+                countries.get(node).add(country);
+            }
+        }
+
+        DialPrefixTrie build() {
+            int[][] countriesByNode = new int[nodeCount][];
+            List<List<Integer>> candidatesByNode = new ArrayList<>(nodeCount);
+            for (int node = 0; node < nodeCount; node++) {
+                List<Integer> list = countries.get(node);
+                if (list == null) {
+                    candidatesByNode.add(null);
+                    continue;
+                }
+                countriesByNode[node] = list.stream().mapToInt(Integer::intValue).sorted().toArray();
+                candidatesByNode.add(Arrays.stream(countriesByNode[node]).boxed().toList());
+            }
+            return new DialPrefixTrie(Arrays.copyOf(children, nodeCount * 10), countriesByNode,
+                candidatesByNode, rootNodeByCountry.clone());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package api.customer.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import api.customer.interfaces.ICountryProfileSource;
+import api.customer.models.CountryProfile;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Fuente de países sin acceso a la red: lee el conjunto de datos ISO 3166-1 incluido en
+ * la aplicación durante la compilación. Se activa compilando con `country.source=embedded`
+ * y el perfil de Maven `country-dataset`, y funciona igual en JVM y en modo nativo.
+ * Solo admite códigos ISO numéricos; cualquier otro código se considera inexistente.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "country.source", stringValue = "embedded")
+public class EmbeddedCountryProfileSource implements ICountryProfileSource {
+
+    private CountryDataset dataset;
+
+    /**
+     * Carga el conjunto de datos incluido en la aplicación.
+     *
+     * @throws IllegalStateException Si la aplicación se compiló sin el conjunto de datos.
+     */
+    @PostConstruct
+    void init() {
+        try (InputStream in = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream(CountryDataset.RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Country dataset " + CountryDataset.RESOURCE
+                    + " not found; build with -Pcountry-dataset to embed it");
+            }
+            this.dataset = CountryDataset.read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read country dataset " + CountryDataset.RESOURCE, e);
+        }
+    }
+
+    /**
+     * Obtiene el perfil de un país del conjunto de datos.
+     *
+     * @param countryCode Código ISO numérico del país, sin espacios.
+     * @return El perfil del país, o `null` si no existe.
+     */
+    @Override
+    public CountryProfile load(String countryCode) {
+        return dataset.get(countryCode);
+    }
+
+    /**
+     * Obtiene el perfil de un país del conjunto de datos; el `Uni` ya está resuelto.
+     *
+     * @param countryCode Código ISO numérico del país, sin espacios.
+     * @return Un `Uni` con el perfil del país, o con `null` si no existe.
+     */
+    @Override
+    public Uni<CountryProfile> loadAsync(String countryCode) {
+        return Uni.createFrom().item(dataset.get(countryCode));
+    }
+
+    /**
+     * Obtiene el perfil de todos los países del conjunto de datos.
+     *
+     * @return Los perfiles de todos los países, en orden de código numérico.
+     */
+    @Override
+    public List<CountryProfile> loadAll() {
+        return dataset.profiles();
+    }
+
+    /**
+     * @return El conjunto de datos incluido en la aplicación.
+     */
+    public CountryDataset dataset() {
+        return dataset;
+    }
+}
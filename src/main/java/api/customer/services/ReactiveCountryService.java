@@ -0,0 +1,79 @@
+package api.customer.services;
+
+import api.customer.interfaces.ICountryProfileSource;
+import api.customer.interfaces.IReactiveCountryService;
+import api.customer.models.CountryProfile;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Servicio no bloqueante de información de países sobre el cliente REST reactivo de Quarkus.
+ * Comparte la caché y el agrupador de consultas con `CountryService`, por lo que un país
+ * resuelto por cualquiera de los dos servicios queda disponible para ambos.
+ */
+@ApplicationScoped
+public class ReactiveCountryService implements IReactiveCountryService {
+
+    @Inject
+    ICountryProfileSource loader; // Fuente de países elegida con `country.source`.
+
+    @Inject
+    DialPrefixIndex dialPrefixes; // Índice de prefijos telefónicos de todos los países.
+
+    /**
+     * Obtiene el perfil de un país desde la caché o, si no está, desde la API.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con el perfil del país, con un perfil no válido si el país no existe,
+     *         o con un perfil no disponible si no se pudo consultar la API.
+     */
+    @Override
+    public Uni<CountryProfile> getCountryProfile(String countryCode) {
+        if (countryCode == null || countryCode.trim().isEmpty()) {
+            return Uni.createFrom().item(CountryProfile.invalid(countryCode));
+        }
+
+        String code = countryCode.trim();
+        return loader.loadAsync(code)
+            // País inexistente
+            .map(profile -> profile != null ? profile : CountryProfile.invalid(code))
+            // Error al consultar la API: tiempo agotado, cortocircuito abierto o error del servidor
+            .onFailure().invoke(Throwable::printStackTrace)
+            .onFailure().recoverWithItem(() -> CountryProfile.unavailable(code));
+    }
+
+    /**
+     * Valida si un código de país es válido.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con `true` si el código de país es válido, de lo contrario `false`.
+     */
+    @Override
+    public Uni<Boolean> isValidCountryCode(String countryCode) {
+        return getCountryProfile(countryCode).map(CountryProfile::isValid);
+    }
+
+    /**
+     * Valida si un prefijo telefónico pertenece al código de país proporcionado.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @param phonePrefix Prefijo telefónico (ejemplo: "809").
+     * @return Un `Uni` con `true` si el prefijo pertenece al país, de lo contrario `false`.
+     */
+    @Override
+    public Uni<Boolean> isPhonePrefixForCountry(String countryCode, String phonePrefix) {
+        return getCountryProfile(countryCode).map(profile -> dialPrefixes.matches(profile, phonePrefix));
+    }
+
+    /**
+     * Obtiene el gentilicio de un país (en inglés) basado en su código.
+     *
+     * @param countryCode Código del país (ISO 3166-1 numérico o alfa).
+     * @return Un `Uni` con el gentilicio en inglés (masculino), o con `null` si no está disponible.
+     */
+    @Override
+    public Uni<String> getDemonym(String countryCode) {
+        return getCountryProfile(countryCode).map(CountryProfile::getDemonym);
+    }
+}
@@ -0,0 +1,342 @@
+package api.customer.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import api.customer.concurrent.Deadline;
+import api.customer.interfaces.IReactiveCountryService;
+import api.customer.interfaces.IReactiveCustomerRepository;
+import api.customer.models.CountryProfile;
+import api.customer.models.Customer;
+import api.customer.models.CustomerChangedEvent;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerLookupResult;
+import api.customer.models.CustomerPage;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+/**
+ * Variante no bloqueante de `CustomerService` sobre `IReactiveCustomerRepository`.
+ * Aplica las mismas reglas que el servicio bloqueante, pero cada operación es una cadena de
+ * `Uni` que se ejecuta en el hilo de eventos de principio a fin, sin ocupar un hilo de trabajo.
+ * Solo existe si se compila con `customers.repository=reactive`; en ese caso el controlador
+ * la usa para las operaciones por cliente y el listado paginado.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "customers.repository", stringValue = "reactive")
+public class ReactiveCustomerService {
+
+    @Inject
+    IReactiveCustomerRepository repository;
+    @Inject
+    IReactiveCountryService countries;
+    @Inject
+    DialPrefixIndex dialPrefixes; // Índice de prefijos telefónicos para validar teléfonos
+    @Inject
+    CustomerService customers; // Reglas de paginación compartidas con el servicio bloqueante
+    @Inject
+    Event<CustomerChangedEvent> changes; // Notifica los países afectados por cada escritura
+    @Inject
+    CountryListingCache countryListings; // Sin caché de listados no hace falta el país anterior
+
+    /**
+     * Crea un nuevo cliente como `CustomerService`: resuelve primero su país y genera su
+     * identificador solo si el país es válido, cada paso dentro del tiempo que quede del plazo;
+     * la inserción no se inicia si el plazo expiró.
+     *
+     * @param customer El cliente a crear; recibe el identificador generado si se crea.
+     * @param deadline Plazo de la operación completa.
+     * @return Un `Uni` con el resultado de la creación; falla con `TimeoutException` si el
+     *         país o el identificador no se obtienen dentro del plazo.
+     */
+    public Uni<WriteStatus> createCustomer(Customer customer, Deadline deadline) {
+        return deadline.bound(countries.getCountryProfile(String.valueOf(customer.getCountry())))
+            .flatMap(resolved -> insert(customer, resolved, deadline))
+            .onFailure(failure -> !(failure instanceof TimeoutException)).recoverWithItem(e -> {
+                e.printStackTrace();
+                System.err.println("Error: Unexpected exception while creating customer - " + e.getMessage());
+                customer.setCustomerId(null);
+                return WriteStatus.FAILED;
+            });
+    }
+
+    /**
+     * Completa y guarda un cliente con su perfil de país; el identificador se genera solo
+     * si el país es válido.
+     */
+    private Uni<WriteStatus> insert(Customer customer, CountryProfile profile, Deadline deadline) {
+        if (!profile.isAvailable()) {
+            System.err.println("Error: Unable to resolve country " + customer.getCountry());
+            return Uni.createFrom().item(WriteStatus.COUNTRY_UNAVAILABLE);
+        }
+        String demonym = profile.getDemonym();
+        if (demonym == null || demonym.trim().isEmpty()) {
+            System.err.println("Error: Unable to retrieve demonym for country " + customer.getCountry());
+            return Uni.createFrom().item(WriteStatus.INVALID_COUNTRY);
+        }
+        customer.setDemonym(demonym);
+        customer.setDisable(false);
+
+        return deadline.bound(repository.generateCustomerId())
+            .flatMap(customerId -> deadline.ifRemaining(() -> {
+                customer.setCustomerId(customerId);
+                return repository.createCustomer(customer);
+            }))
+            .invoke(status -> {
+                if (status.isSuccess()) {
+                    changes.fire(new CustomerChangedEvent(Set.of(customer.getCountry())));
+                } else {
+                    System.err.println("Error: Unable to create customer in the repository - " + status);
+                    customer.setCustomerId(null);
+                }
+            });
+    }
+
+    /**
+     * Obtiene una página de clientes activos.
+     *
+     * @param cursor Cursor de la página anterior, o `null` para la primera.
+     * @param limit  Tamaño de página solicitado, o `null` para el tamaño por defecto.
+     * @param fields Campos a leer de cada cliente.
+     * @return Un `Uni` con la página; falla con `IllegalArgumentException` si el cursor o
+     *         el tamaño no son válidos.
+     */
+    public Uni<CustomerPage> findPage(String cursor, Integer limit, Set<CustomerField> fields) {
+        int afterCustomerId;
+        int pageSize;
+        try {
+            afterCustomerId = CustomerPage.decodeCursor(cursor);
+            pageSize = customers.pageSize(limit);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        // Se pide un cliente de más para saber si existe una página siguiente.
+        return repository.findPage(afterCustomerId, pageSize + 1, fields)
+            .map(page -> customers.toPage(page, pageSize));
+    }
+
+    /**
+     * Busca un cliente por su identificador único.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con el cliente, o con `null` si no se encuentra.
+     */
+    public Uni<Customer> findById(int customerId) {
+        return repository.findById(customerId);
+    }
+
+    /**
+     * Obtiene la versión y la fecha de modificación de un cliente, sin leer sus datos.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con la versión, o con `null` si no se encuentra.
+     */
+    public Uni<CustomerVersion> findVersion(int customerId) {
+        return repository.findVersion(customerId);
+    }
+
+    /**
+     * Busca varios clientes por sus identificadores; los repetidos se consultan una sola vez.
+     *
+     * @param customerIds Identificadores de los clientes, posiblemente repetidos.
+     * @return Un `Uni` con un resultado por identificador, en el mismo orden.
+     */
+    public Uni<List<CustomerLookupResult>> findByIds(List<Integer> customerIds) {
+        return repository.findByIds(new LinkedHashSet<>(customerIds))
+            .map(found -> {
+                List<CustomerLookupResult> results = new ArrayList<>(customerIds.size());
+                for (Integer customerId : customerIds) {
+                    results.add(CustomerLookupResult.of(customerId, found.get(customerId)));
+                }
+                return results;
+            });
+    }
+
+    /**
+     * Actualiza los datos de un cliente resolviendo el país nuevo y leyendo el cliente actual
+     * a la vez, como `CustomerService`: si uno falla, el otro se cancela, cada uno dispone solo
+     * del tiempo que quede del plazo, y la actualización no se inicia si el plazo expiró.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param email      Nuevo correo electrónico.
+     * @param address    Nueva dirección.
+     * @param phone      Nuevo número de teléfono.
+     * @param country    Nuevo código del país.
+     * @param deadline   Plazo de la operación completa.
+     * @return Un `Uni` con el resultado de la actualización; falla con `TimeoutException` si el
+     *         país o el cliente no se obtienen dentro del plazo.
+     */
+    public Uni<WriteStatus> updateCustomer(int customerId, String email, String address, String phone, short country,
+                                           Deadline deadline) {
+        Uni<CountryProfile> profile = deadline.bound(countries.getCountryProfile(Short.toString(country)));
+        // El país anterior se lee antes de actualizar, para invalidar también su listado en caché si cambia.
+        Uni<Customer> current = countryListings.isEnabled()
+            ? deadline.bound(repository.findById(customerId))
+            : Uni.createFrom().nullItem();
+
+        return Uni.combine().all().unis(profile, current)
+            .withUni((resolved, before) -> {
+                if (!resolved.isAvailable()) {
+                    return Uni.createFrom().item(WriteStatus.COUNTRY_UNAVAILABLE);
+                }
+                if (!resolved.isValid()) {
+                    return Uni.createFrom().item(WriteStatus.INVALID_COUNTRY);
+                }
+                if (!dialPrefixes.matches(resolved, phone)) {
+                    return Uni.createFrom().item(WriteStatus.INVALID_PHONE_PREFIX);
+                }
+                return deadline.ifRemaining(() -> update(customerId, email, address, phone, country, resolved, before));
+            })
+            .onFailure(failure -> !(failure instanceof TimeoutException)).recoverWithItem(e -> {
+                e.printStackTrace();
+                System.err.println("Error: Unexpected exception while updating customer " + customerId
+                    + " - " + e.getMessage());
+                return WriteStatus.FAILED;
+            });
+    }
+
+    /**
+     * Guarda los datos nuevos de un cliente y notifica los países afectados.
+     */
+    private Uni<WriteStatus> update(int customerId, String email, String address, String phone, short country,
+                                    CountryProfile profile, Customer before) {
+        String demonym = profile.getDemonym();
+        if (demonym == null || demonym.trim().isEmpty()) {
+            System.err.println("Error: Unable to retrieve demonym for country " + country);
+            return Uni.createFrom().item(WriteStatus.INVALID_COUNTRY);
+        }
+
+        return repository.updateCustomer(customerId, email, address, phone, country, demonym)
+            .invoke(status -> {
+                if (status.isSuccess()) {
+                    Set<Short> affected = new HashSet<>();
+                    affected.add(country);
+                    if (before != null) {
+                        affected.add(before.getCountry());
+                    }
+                    changes.fire(new CustomerChangedEvent(affected));
+                } else {
+                    System.err.println("Error: Unable to update customer " + customerId + " - " + status);
+                }
+            });
+    }
+
+    /**
+     * Modifica solo los campos presentes de un cliente, como `CustomerService`: el país nuevo
+     * solo se resuelve si viene en la petición y el cliente actual solo se lee si hay que
+     * validar su teléfono, ambos a la vez dentro del plazo; lo validado se comprueba de nuevo
+     * en el propio `UPDATE`.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param patch      Campos a modificar.
+     * @param deadline   Plazo de la operación completa.
+     * @return Un `Uni` con el cliente tal como quedó guardado, o con el motivo por el que no se
+     *         modificó. Falla con `TimeoutException` si el plazo expira antes de guardar.
+     */
+    public Uni<CustomerWriteResult> patchCustomer(int customerId, CustomerPatch patch, Deadline deadline) {
+        Short country = patch.getCountry();
+        boolean checksPhone = country != null || patch.getPhone() != null;
+        Uni<CountryProfile> profile = country == null
+            ? Uni.createFrom().nullItem()
+            : deadline.bound(countries.getCountryProfile(Short.toString(country)));
+        Uni<Customer> current = checksPhone
+            ? deadline.bound(repository.findById(customerId))
+            : Uni.createFrom().nullItem();
+
+        return Uni.combine().all().unis(profile, current)
+            .withUni((resolved, before) -> {
+                if (checksPhone && before == null) {
+                    return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.NOT_FOUND));
+                }
+                if (resolved != null && !resolved.isAvailable()) {
+                    return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.COUNTRY_UNAVAILABLE));
+                }
+                if (resolved != null && !resolved.isValid()) {
+                    return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.INVALID_COUNTRY));
+                }
+                // Si solo cambia el teléfono, se valida contra el país que el cliente ya tiene.
+                Uni<CountryProfile> phoneCountry = resolved != null || !checksPhone
+                    ? Uni.createFrom().item(resolved)
+                    : deadline.bound(countries.getCountryProfile(Short.toString(before.getCountry())));
+                return phoneCountry.flatMap(prefixes -> {
+                    if (prefixes != null && !prefixes.isAvailable()) {
+                        return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.COUNTRY_UNAVAILABLE));
+                    }
+                    if (prefixes != null) {
+                        String phone = patch.getPhone() != null ? patch.getPhone() : before.getPhone();
+                        if (!dialPrefixes.matches(prefixes, phone)) {
+                            return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.INVALID_PHONE_PREFIX));
+                        }
+                    }
+                    return deadline.ifRemaining(() -> patch(customerId, patch, resolved, before));
+                });
+            })
+            .onFailure(failure -> !(failure instanceof TimeoutException)).recoverWithItem(e -> {
+                e.printStackTrace();
+                System.err.println("Error: Unexpected exception while patching customer " + customerId
+                    + " - " + e.getMessage());
+                return CustomerWriteResult.failed(WriteStatus.FAILED);
+            });
+    }
+
+    /**
+     * Guarda los campos modificados de un cliente y notifica los países afectados.
+     */
+    private Uni<CustomerWriteResult> patch(int customerId, CustomerPatch patch, CountryProfile profile,
+                                           Customer before) {
+        String demonym = null;
+        if (profile != null) {
+            demonym = profile.getDemonym();
+            if (demonym == null || demonym.trim().isEmpty()) {
+                System.err.println("Error: Unable to retrieve demonym for country " + patch.getCountry());
+                return Uni.createFrom().item(CustomerWriteResult.failed(WriteStatus.INVALID_COUNTRY));
+            }
+        }
+
+        return repository.patchCustomer(customerId, patch, demonym,
+                CustomerService.expectedCountry(patch, before), CustomerService.expectedPhone(patch, before))
+            .invoke(result -> {
+                if (result.getStatus().isSuccess()) {
+                    Set<Short> affected = new HashSet<>();
+                    affected.add(result.getCustomer().getCountry());
+                    if (before != null) {
+                        affected.add(before.getCountry());
+                    }
+                    changes.fire(new CustomerChangedEvent(affected));
+                } else {
+                    System.err.println("Error: Unable to patch customer " + customerId + " - " + result.getStatus());
+                }
+            });
+    }
+
+    /**
+     * Elimina un cliente por su identificador único.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con `true` si el cliente fue eliminado con éxito, de lo contrario `false`.
+     */
+    public Uni<Boolean> deleteCustomer(int customerId) {
+        // El país del cliente solo hace falta para invalidar su listado en caché.
+        Uni<Customer> current = countryListings.isEnabled()
+            ? repository.findById(customerId)
+            : Uni.createFrom().nullItem();
+        return current
+            .flatMap(before -> repository.deleteCustomer(customerId)
+                .invoke(success -> {
+                    if (success && before != null) {
+                        changes.fire(new CustomerChangedEvent(Set.of(before.getCountry())));
+                    }
+                }));
+    }
+}
@@ -0,0 +1,90 @@
+package api.customer.services;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.concurrent.Deadline;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Ejecutor del trabajo bloqueante de los endpoints de clientes (JDBC y cliente de países).
+ * Con `customers.threads=platform` (por defecto) el trabajo se ejecuta en el pool de
+ * trabajadores de Quarkus, cuyo tamaño limita las peticiones atendidas a la vez; con
+ * `customers.threads=virtual` cada tarea se ejecuta en su propio hilo virtual, y la
+ * concurrencia queda limitada por el pool de conexiones de la base de datos.
+ */
+@ApplicationScoped
+public class RequestExecutor {
+
+    @ConfigProperty(name = "customers.threads", defaultValue = "platform")
+    String mode; // `platform` o `virtual`
+
+    private ExecutorService virtualThreads; // `null` en modo `platform`
+
+    @PostConstruct
+    void init() {
+        switch (mode.trim().toLowerCase(Locale.ROOT)) {
+            case "platform" -> virtualThreads = null;
+            case "virtual" -> virtualThreads = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("customer-request-", 0).factory());
+            default -> throw new IllegalArgumentException(
+                "customers.threads must be platform or virtual, not " + mode);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+
+    /**
+     * @return El ejecutor del modo configurado.
+     */
+    public Executor executor() {
+        return virtualThreads != null ? virtualThreads : Infrastructure.getDefaultWorkerPool();
+    }
+
+    /**
+     * Ejecuta un trabajo bloqueante en el ejecutor configurado.
+     *
+     * @param work Trabajo a ejecutar.
+     * @return Un `Uni` que emite el resultado del trabajo.
+     */
+    public <T> Uni<T> submit(Supplier<T> work) {
+        return Uni.createFrom().item(work).runSubscriptionOn(executor());
+    }
+
+    /**
+     * Ejecuta un trabajo bloqueante limitado al tiempo que quede de un plazo. El `Uni` falla con
+     * `TimeoutException` al expirar el plazo, pero el hilo no se puede abandonar a mitad de una
+     * consulta: el trabajo se ejecuta con el plazo como actual ({@link Deadline#current()}) y el
+     * repositorio JDBC lo aplica como `setQueryTimeout` a cada sentencia, de modo que la consulta
+     * en curso se cancela en el servidor como mucho un segundo después. La espera de una
+     * conexión del pool no queda limitada por el plazo.
+     *
+     * @param work     Trabajo a ejecutar.
+     * @param deadline Plazo del trabajo.
+     * @return Un `Uni` que emite el resultado del trabajo.
+     */
+    public <T> Uni<T> submit(Supplier<T> work, Deadline deadline) {
+        return deadline.bound(submit(() -> deadline.runWithin(work)));
+    }
+
+    /**
+     * @return `true` si el trabajo se ejecuta en hilos virtuales.
+     */
+    public boolean isVirtual() {
+        return virtualThreads != null;
+    }
+}
@@ -0,0 +1,2 @@
+-- Índice para la paginación por clave de los clientes de un país
+CREATE INDEX idx_customer_country_customerid ON customer (country, customerid);
@@ -0,0 +1,9 @@
+-- Tabla de secuencia para reservar bloques de identificadores de clientes (hi/lo)
+CREATE TABLE IF NOT EXISTS customer_id_sequence (
+    name VARCHAR(30) NOT NULL PRIMARY KEY,
+    next_value INT NOT NULL
+);
+
+-- La secuencia continúa después del mayor identificador existente
+INSERT INTO customer_id_sequence (name, next_value)
+SELECT 'customer', COALESCE(MAX(customerid), 0) + 1 FROM customer;
@@ -0,0 +1,5 @@
+-- Índices únicos de correo y teléfono: las escrituras detectan los duplicados
+-- en la propia sentencia en lugar de consultarlos antes
+ALTER TABLE customer
+    ADD UNIQUE INDEX uk_customer_email (email),
+    ADD UNIQUE INDEX uk_customer_phone (phone);
@@ -0,0 +1,5 @@
+-- Versión de cada fila y fecha de su última modificación (UTC), para las etiquetas `ETag`
+-- y `Last-Modified` de las lecturas condicionales. Cada escritura incrementa la versión.
+ALTER TABLE customer
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 1,
+    ADD COLUMN updated_at DATETIME(3) NOT NULL DEFAULT (UTC_TIMESTAMP(3));
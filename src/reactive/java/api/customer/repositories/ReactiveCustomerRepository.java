@@ -0,0 +1,464 @@
+package api.customer.repositories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import api.customer.concurrent.SingleFlight;
+import api.customer.interfaces.IReactiveCustomerRepository;
+import api.customer.models.Customer;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerPatch;
+import api.customer.models.CustomerVersion;
+import api.customer.models.CustomerWriteResult;
+import api.customer.models.WriteStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import io.vertx.mysqlclient.MySQLClient;
+import io.vertx.mysqlclient.MySQLException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Implementación no bloqueante del repositorio de clientes sobre el cliente reactivo de MySQL
+ * de Vert.x. Las consultas se envían desde el hilo de eventos y sus resultados llegan como
+ * `Uni`, sin ocupar un hilo ni una conexión JDBC mientras la base de datos responde.
+ * Con `quarkus.datasource.reactive.mysql.pipelining-limit` mayor que 1, las consultas
+ * independientes lanzadas sobre una misma conexión se encadenan sin esperar cada respuesta.
+ * Solo existe si se compila con `customers.repository=reactive`, que activa el perfil de Maven
+ * `reactive` y con él el cliente reactivo y las fuentes de src/reactive/java.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "customers.repository", stringValue = "reactive")
+public class ReactiveCustomerRepository implements IReactiveCustomerRepository {
+
+    private static final int DUPLICATE_ENTRY = 1062; // Código de error ER_DUP_ENTRY de MySQL
+
+    @Inject
+    Pool client;
+
+    @Inject
+    CustomerRepository jdbc; // Filtros de Bloom de correos y teléfonos, compartidos con las cargas masivas
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "customers.id.block-size", defaultValue = "50")
+    int idBlockSize; // Identificadores reservados en cada consulta a la tabla de secuencia
+
+    @ConfigProperty(name = "customers.multi-get.chunk-size", defaultValue = "500")
+    int multiGetChunkSize; // Identificadores por consulta `IN` al buscar varios clientes
+
+    private volatile IdBlock ids = new IdBlock(0, 0); // Bloque de identificadores en uso; vacío al inicio
+    private SingleFlight<String, IdBlock> idReservations; // Una sola reserva de bloque en curso a la vez
+
+    @PostConstruct
+    void init() {
+        idReservations = new SingleFlight<>(TimeUnit.SECONDS.toNanos(5));
+        idReservations.bindTo(registry, "customer-id-block");
+    }
+
+    /**
+     * Crea un nuevo cliente en la base de datos con una sola sentencia.
+     * Los índices únicos de correo y teléfono rechazan los duplicados en el propio `INSERT`.
+     *
+     * @param customer El cliente a crear, con su identificador ya asignado.
+     * @return Un `Uni` con `SUCCESS` si el cliente fue creado, `EMAIL_TAKEN` o `PHONE_TAKEN` si
+     *         el correo o el teléfono ya existen, o `FAILED` si ocurre otro error.
+     */
+    @Override
+    public Uni<WriteStatus> createCustomer(Customer customer) {
+        String query = """
+            INSERT INTO customer (customerid, firstname, middlename, lastname, secondlastname, email, address, phone, country, demonym, disable)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        Tuple values = Tuple.from(Arrays.asList(
+            customer.getCustomerId(), customer.getFirstName(), customer.getMiddleName(),
+            customer.getLastName(), customer.getSecondLastName(), customer.getEmail(),
+            customer.getAddress(), customer.getPhone(), customer.getCountry(),
+            customer.getDemonym(), customer.getDisable()));
+
+        return client.preparedQuery(query).execute(values)
+            .map(rows -> {
+                if (rows.rowCount() > 0) {
+                    jdbc.remember(customer.getEmail(), customer.getPhone());
+                    return WriteStatus.SUCCESS;
+                }
+                return WriteStatus.FAILED;
+            })
+            .onFailure().recoverWithItem(ReactiveCustomerRepository::failureStatus);
+    }
+
+    /**
+     * Obtiene una página de clientes activos ordenados por identificador.
+     *
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Un `Uni` con los clientes de la página; vacío si la consulta falla.
+     */
+    @Override
+    public Uni<List<Customer>> findPage(int afterCustomerId, int limit, Set<CustomerField> fields) {
+        String query = "SELECT " + CustomerField.columns(fields)
+            + " FROM customer WHERE customerid > ? AND disable = 0 ORDER BY customerid LIMIT ?";
+
+        return client.preparedQuery(query).execute(Tuple.of(afterCustomerId, limit))
+            .map(rows -> toCustomers(rows, fields))
+            .onFailure().invoke(Throwable::printStackTrace)
+            .onFailure().recoverWithItem(Collections::emptyList);
+    }
+
+    /**
+     * Obtiene una página de clientes activos de un país ordenados por identificador.
+     * Usa el índice `(country, customerid)`.
+     *
+     * @param country         Código del país (ISO numérico).
+     * @param afterCustomerId Identificador tras el que empieza la página (`0` para la primera).
+     * @param limit           Número máximo de clientes a devolver.
+     * @param fields          Campos a leer; el identificador se lee siempre.
+     * @return Un `Uni` con los clientes de la página; vacío si la consulta falla.
+     */
+    @Override
+    public Uni<List<Customer>> findPageByCountry(short country, int afterCustomerId, int limit,
+                                                 Set<CustomerField> fields) {
+        String query = "SELECT " + CustomerField.columns(fields) + """
+             FROM customer
+            WHERE country = ? AND customerid > ? AND disable = 0
+            ORDER BY customerid LIMIT ?
+            """;
+
+        return client.preparedQuery(query).execute(Tuple.of(country, afterCustomerId, limit))
+            .map(rows -> toCustomers(rows, fields))
+            .onFailure().invoke(Throwable::printStackTrace)
+            .onFailure().recoverWithItem(Collections::emptyList);
+    }
+
+    /**
+     * Busca un cliente por su identificador único.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con el cliente, o con `null` si no existe, está deshabilitado o la consulta falla.
+     */
+    @Override
+    public Uni<Customer> findById(int customerId) {
+        return client.preparedQuery("SELECT * FROM customer WHERE customerid = ? AND disable = 0")
+            .execute(Tuple.of(customerId))
+            .map(rows -> {
+                List<Customer> customers = toCustomers(rows, CustomerField.ALL);
+                return customers.isEmpty() ? null : customers.get(0);
+            })
+            .onFailure().invoke(Throwable::printStackTrace)
+            .onFailure().recoverWithNull();
+    }
+
+    /**
+     * Obtiene la versión y la fecha de modificación de un cliente con una consulta que solo
+     * lee esas dos columnas.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con la versión, o con `null` si no existe, está deshabilitado o la consulta falla.
+     */
+    @Override
+    public Uni<CustomerVersion> findVersion(int customerId) {
+        return client.preparedQuery("SELECT version, updated_at FROM customer WHERE customerid = ? AND disable = 0")
+            .execute(Tuple.of(customerId))
+            .map(rows -> {
+                if (rows.size() == 0) {
+                    return null;
+                }
+                Row row = rows.iterator().next();
+                return new CustomerVersion(row.getLong(CustomerField.VERSION_COLUMN),
+                    CustomerField.toInstant(row.getLocalDateTime(CustomerField.UPDATED_AT_COLUMN)));
+            })
+            .onFailure().invoke(Throwable::printStackTrace)
+            .onFailure().recoverWithNull();
+    }
+
+    /**
+     * Busca varios clientes por sus identificadores con consultas `WHERE customerid IN (...)`.
+     * Las listas largas se dividen en bloques de `customers.multi-get.chunk-size` identificadores;
+     * todos se envían a la vez por la misma conexión, sin esperar la respuesta del anterior.
+     *
+     * @param customerIds Identificadores de los clientes.
+     * @return Un `Uni` con los clientes encontrados por identificador. Falla si alguna consulta falla.
+     */
+    @Override
+    public Uni<Map<Integer, Customer>> findByIds(Collection<Integer> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Uni.createFrom().item(new HashMap<>());
+        }
+        List<Object> ids = new ArrayList<>(customerIds);
+
+        return client.withConnection(connection -> {
+            List<Uni<RowSet<Row>>> queries = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+                List<Object> chunk = ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String query = "SELECT * FROM customer WHERE customerid IN (" + placeholders + ") AND disable = 0";
+                queries.add(connection.preparedQuery(query).execute(Tuple.from(chunk)));
+            }
+            return Uni.join().all(queries).andFailFast();
+        }).map(results -> {
+            Map<Integer, Customer> customers = new HashMap<>();
+            for (RowSet<Row> rows : results) {
+                for (Customer customer : toCustomers(rows, CustomerField.ALL)) {
+                    customers.put(customer.getCustomerId(), customer);
+                }
+            }
+            return customers;
+        }).onFailure().invoke(Throwable::printStackTrace);
+    }
+
+    /**
+     * Actualiza los datos de un cliente existente en la base de datos.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param email      Nuevo correo electrónico.
+     * @param address    Nueva dirección.
+     * @param phone      Nuevo número de teléfono.
+     * @param country    Nuevo código de país.
+     * @param demonym    Nuevo gentilicio.
+     * @return Un `Uni` con `SUCCESS` si el cliente fue actualizado, `EMAIL_TAKEN` o `PHONE_TAKEN`
+     *         si el correo o el teléfono pertenecen a otro cliente, `NOT_FOUND` si el cliente no
+     *         existe, o `FAILED` si ocurre otro error.
+     */
+    @Override
+    public Uni<WriteStatus> updateCustomer(int customerId, String email, String address, String phone, short country,
+                                           String demonym) {
+        String query = "UPDATE customer SET email = ?, address = ?, phone = ?, country = ?, demonym = ?, "
+            + CustomerRepository.VERSION_BUMP + " WHERE customerid = ? AND disable = 0";
+
+        return client.preparedQuery(query)
+            .execute(Tuple.from(Arrays.asList(email, address, phone, country, demonym, customerId)))
+            .map(rows -> {
+                if (rows.rowCount() > 0) {
+                    jdbc.remember(email, phone);
+                    return WriteStatus.SUCCESS;
+                }
+                return WriteStatus.NOT_FOUND;
+            })
+            .onFailure().recoverWithItem(ReactiveCustomerRepository::failureStatus);
+    }
+
+    /**
+     * Modifica solo los campos presentes de un cliente con un único `UPDATE` y lee la fila
+     * resultante en la misma transacción. Ambas sentencias se envían seguidas por la misma
+     * conexión, sin esperar la respuesta del `UPDATE` para enviar la lectura. El país o el
+     * teléfono con los que se validó el prefijo se añaden al `WHERE` del `UPDATE`; si ya no
+     * coinciden, el `UPDATE` no modifica nada y el resultado es `CONFLICT`.
+     *
+     * @param customerId Identificador único del cliente.
+     * @param patch      Campos a modificar.
+     * @param demonym    Gentilicio del país nuevo, o `null` si el país no cambia.
+     * @param expectedCountry País que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @param expectedPhone   Teléfono que el cliente debe seguir teniendo, o `null` para no comprobarlo.
+     * @return Un `Uni` con el cliente tal como quedó guardado, o con el motivo por el que no se modificó.
+     */
+    @Override
+    public Uni<CustomerWriteResult> patchCustomer(int customerId, CustomerPatch patch, String demonym,
+                                                  Short expectedCountry, String expectedPhone) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        CustomerRepository.patchColumn(assignments, values, "email", patch.getEmail());
+        CustomerRepository.patchColumn(assignments, values, "address", patch.getAddress());
+        CustomerRepository.patchColumn(assignments, values, "phone", patch.getPhone());
+        if (patch.getCountry() != null) {
+            CustomerRepository.patchColumn(assignments, values, "country", patch.getCountry());
+            CustomerRepository.patchColumn(assignments, values, "demonym", demonym);
+        }
+        String conditions = CustomerRepository.expectedColumns(values, customerId, expectedCountry, expectedPhone);
+        String select = "SELECT * FROM customer WHERE customerid = ? AND disable = 0";
+
+        return client.withTransaction(connection -> {
+            Uni<RowSet<Row>> read = connection.preparedQuery(select).execute(Tuple.of(customerId));
+            if (assignments.isEmpty()) {
+                return read.map(rows -> patchResult(rows, true));
+            }
+            String update = "UPDATE customer SET " + String.join(", ", assignments)
+                + ", " + CustomerRepository.VERSION_BUMP + " WHERE customerid = ? AND disable = 0" + conditions;
+            Uni<RowSet<Row>> write = connection.preparedQuery(update).execute(Tuple.from(values));
+            // El cliente se lee aunque el `UPDATE` no encuentre la fila, para distinguir un
+            // cliente inexistente de uno cuyo país o teléfono cambió.
+            return Uni.combine().all().unis(write, read)
+                .with((updated, rows) -> patchResult(rows, updated.rowCount() > 0));
+        }).invoke(result -> {
+            if (result.getStatus().isSuccess()) {
+                jdbc.remember(patch.getEmail(), patch.getPhone());
+            }
+        }).onFailure().recoverWithItem(e -> CustomerWriteResult.failed(failureStatus(e)));
+    }
+
+    /**
+     * Traduce la fila leída tras una modificación parcial en su resultado.
+     */
+    private CustomerWriteResult patchResult(RowSet<Row> rows, boolean updated) {
+        List<Customer> customers = toCustomers(rows, CustomerField.ALL);
+        if (customers.isEmpty()) {
+            return CustomerWriteResult.failed(WriteStatus.NOT_FOUND);
+        }
+        return updated ? CustomerWriteResult.success(customers.get(0)) : CustomerWriteResult.failed(WriteStatus.CONFLICT);
+    }
+
+    /**
+     * Elimina un cliente de la base de datos por su identificador único.
+     *
+     * @param customerId Identificador único del cliente.
+     * @return Un `Uni` con `true` si el cliente fue eliminado con éxito, de lo contrario `false`.
+     */
+    @Override
+    public Uni<Boolean> deleteCustomer(int customerId) {
+        return client.preparedQuery("UPDATE customer SET disable = 1, " + CustomerRepository.VERSION_BUMP
+                + " WHERE customerid = ?")
+            .execute(Tuple.of(customerId))
+            .map(rows -> rows.rowCount() > 0)
+            .onFailure().invoke(Throwable::printStackTrace)
+            .onFailure().recoverWithItem(false);
+    }
+
+    /**
+     * Genera un nuevo identificador único para un cliente.
+     * Igual que el repositorio JDBC, los identificadores se entregan desde un bloque reservado
+     * en memoria; al agotarse se reserva otro en `customer_id_sequence`, y las peticiones que
+     * lo encuentran agotado a la vez esperan la misma reserva.
+     *
+     * @return Un `Uni` con el próximo identificador disponible. Falla si no puede reservarse.
+     */
+    @Override
+    public Uni<Integer> generateCustomerId() {
+        IdBlock block = ids;
+        long id = block.take();
+        if (id >= 0) {
+            return Uni.createFrom().item(Math.toIntExact(id));
+        }
+        return Uni.createFrom().completionStage(() -> idReservations.submit("customer", () -> {
+                // Otra petición pudo reservar un bloque nuevo mientras se comprobaba este.
+                if (ids != block) {
+                    return Uni.createFrom().item(ids).subscribeAsCompletionStage();
+                }
+                return reserveIdBlock(idBlockSize)
+                    .map(start -> ids = new IdBlock(start, start + idBlockSize))
+                    .subscribeAsCompletionStage();
+            }))
+            .onFailure().invoke(Throwable::printStackTrace)
+            .flatMap(reserved -> generateCustomerId());
+    }
+
+    /**
+     * Reserva de forma atómica un bloque de identificadores en la tabla de secuencia.
+     * MySQL devuelve en la respuesta del `UPDATE` el valor guardado con `LAST_INSERT_ID(expr)`,
+     * por lo que la reserva es una sola sentencia sin volver a consultar la tabla.
+     *
+     * @param size Número de identificadores del bloque.
+     * @return Un `Uni` con el primer identificador del bloque.
+     */
+    private Uni<Long> reserveIdBlock(int size) {
+        String update = "UPDATE customer_id_sequence SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = 'customer'";
+
+        return client.preparedQuery(update).execute(Tuple.of(size))
+            .map(rows -> {
+                if (rows.rowCount() == 0) {
+                    throw new IllegalStateException("Sequence 'customer' not found in customer_id_sequence");
+                }
+                return rows.property(MySQLClient.LAST_INSERTED_ID) - size;
+            });
+    }
+
+    /**
+     * Convierte las filas de una consulta en clientes con los campos pedidos.
+     */
+    private static List<Customer> toCustomers(RowSet<Row> rows, Set<CustomerField> fields) {
+        List<Customer> customers = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            customers.add(toCustomer(row, fields));
+        }
+        return customers;
+    }
+
+    /**
+     * Copia de una fila al cliente el identificador, la versión, la fecha de modificación y los
+     * campos pedidos; el resto queda en `null`.
+     */
+    private static Customer toCustomer(Row row, Set<CustomerField> fields) {
+        Customer customer = new Customer();
+        customer.setCustomerId(row.getInteger(CustomerField.CUSTOMER_ID.getColumn()));
+        customer.setVersion(row.getLong(CustomerField.VERSION_COLUMN));
+        customer.setUpdatedAt(CustomerField.toInstant(row.getLocalDateTime(CustomerField.UPDATED_AT_COLUMN)));
+        for (CustomerField field : fields) {
+            String column = field.getColumn();
+            switch (field) {
+                case CUSTOMER_ID -> { }
+                case FIRST_NAME -> customer.setFirstName(row.getString(column));
+                case MIDDLE_NAME -> customer.setMiddleName(row.getString(column));
+                case LAST_NAME -> customer.setLastName(row.getString(column));
+                case SECOND_LAST_NAME -> customer.setSecondLastName(row.getString(column));
+                case EMAIL -> customer.setEmail(row.getString(column));
+                case ADDRESS -> customer.setAddress(row.getString(column));
+                case PHONE -> customer.setPhone(row.getString(column));
+                case COUNTRY -> customer.setCountry(row.getShort(column));
+                case DEMONYM -> customer.setDemonym(row.getString(column));
+                // `BOOLEAN` es `TINYINT(1)` en MySQL: el cliente reactivo lo entrega como número.
+                case DISABLE -> customer.setDisable(row.getValue(column) instanceof Number value
+                    ? value.intValue() != 0 : row.getBoolean(column));
+            }
+        }
+        return customer;
+    }
+
+    /**
+     * Traduce el error de una escritura al resultado correspondiente: los duplicados se
+     * identifican por el índice único que informa MySQL en el mensaje, igual que en JDBC.
+     *
+     * @param e Error producido por la escritura.
+     * @return `EMAIL_TAKEN`, `PHONE_TAKEN` o `FAILED`.
+     */
+    private static WriteStatus failureStatus(Throwable e) {
+        if (e instanceof MySQLException mysql && mysql.getErrorCode() == DUPLICATE_ENTRY) {
+            String message = e.getMessage() == null ? "" : e.getMessage();
+            if (message.contains(CustomerRepository.EMAIL_UNIQUE_KEY)) {
+                return WriteStatus.EMAIL_TAKEN;
+            }
+            if (message.contains(CustomerRepository.PHONE_UNIQUE_KEY)) {
+                return WriteStatus.PHONE_TAKEN;
+            }
+        }
+        e.printStackTrace();
+        return WriteStatus.FAILED;
+    }
+
+    /**
+     * Bloque de identificadores reservado, `[next, end)`, del que se toman sin bloquear.
+     */
+    private static final class IdBlock {
+
+        private final AtomicLong next;
+        private final long end;
+
+        IdBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * @return El siguiente identificador del bloque, o `-1` si está agotado.
+         */
+        long take() {
+            long id = next.getAndIncrement();
+            return id < end ? id : -1;
+        }
+    }
+}
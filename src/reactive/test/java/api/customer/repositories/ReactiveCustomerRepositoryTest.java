@@ -0,0 +1,125 @@
+package api.customer.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import api.customer.interfaces.IReactiveCustomerRepository;
+import api.customer.models.Customer;
+import api.customer.models.WriteStatus;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+
+/**
+ * Pruebas de integración de ReactiveCustomerRepository contra la base de datos MySQL local
+ * de las pruebas, con la aplicación compilada con `customers.repository=reactive`.
+ * Vive en src/reactive/test/java: solo se compila y ejecuta con el perfil de Maven `reactive`.
+ */
+@QuarkusTest
+@TestProfile(ReactiveCustomerRepositoryTest.ReactiveRepository.class)
+public class ReactiveCustomerRepositoryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Activa el repositorio reactivo; con bloques de dos identificadores, `findByIds`
+     * envía varias consultas encadenadas por la misma conexión.
+     */
+    public static class ReactiveRepository implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "customers.repository", "reactive",
+                "customers.multi-get.chunk-size", "2");
+        }
+    }
+
+    @Inject
+    IReactiveCustomerRepository repository;
+
+    /**
+     * Verifica el ciclo completo de un cliente: creación, lectura, correo duplicado,
+     * actualización y eliminación.
+     */
+    @Test
+    public void testCreateFindUpdateDelete() {
+        int customerId = repository.generateCustomerId().await().atMost(TIMEOUT);
+        Customer customer = customer(customerId);
+        assertEquals(WriteStatus.SUCCESS, repository.createCustomer(customer).await().atMost(TIMEOUT));
+
+        Customer found = repository.findById(customerId).await().atMost(TIMEOUT);
+        assertNotNull(found);
+        assertEquals(customer.getEmail(), found.getEmail());
+        assertEquals(Short.valueOf((short) 250), found.getCountry());
+        assertFalse(found.getDisable());
+
+        Customer duplicate = customer(repository.generateCustomerId().await().atMost(TIMEOUT));
+        duplicate.setEmail(customer.getEmail());
+        assertEquals(WriteStatus.EMAIL_TAKEN, repository.createCustomer(duplicate).await().atMost(TIMEOUT));
+
+        WriteStatus updated = repository.updateCustomer(customerId, customer.getEmail(), "Updated Address 1",
+            customer.getPhone(), (short) 250, "French").await().atMost(TIMEOUT);
+        assertEquals(WriteStatus.SUCCESS, updated);
+        assertEquals("Updated Address 1", repository.findById(customerId).await().atMost(TIMEOUT).getAddress());
+
+        assertTrue(repository.deleteCustomer(customerId).await().atMost(TIMEOUT));
+        assertNull(repository.findById(customerId).await().atMost(TIMEOUT));
+    }
+
+    /**
+     * Verifica que los identificadores repartidos en varias consultas encadenadas se
+     * encuentran todos, y que los inexistentes no aparecen.
+     */
+    @Test
+    public void testFindByIdsAcrossPipelinedChunks() {
+        Map<Integer, Customer> found = repository.findByIds(List.of(10, 12, 14, 15, 999999))
+            .await().atMost(TIMEOUT);
+
+        assertEquals(4, found.size());
+        assertEquals("Emma", found.get(10).getFirstName());
+        assertEquals("Isabella", found.get(15).getFirstName());
+        assertFalse(found.containsKey(999999));
+    }
+
+    /**
+     * Verifica que las peticiones concurrentes de identificadores, que agotan varios bloques,
+     * nunca reciben el mismo identificador.
+     */
+    @Test
+    public void testConcurrentGeneratedIdsAreUnique() {
+        List<Uni<Integer>> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(repository.generateCustomerId());
+        }
+        List<Integer> ids = Uni.join().all(requests).andFailFast().await().atMost(TIMEOUT);
+
+        assertEquals(200, new HashSet<>(ids).size());
+    }
+
+    private static Customer customer(int customerId) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setFirstName("Reactive");
+        customer.setLastName("Repository");
+        customer.setEmail("reactive." + customerId + "@example.com");
+        customer.setAddress("Reactive Address 1");
+        customer.setPhone(String.format("34%09d", customerId));
+        customer.setCountry((short) 250);
+        customer.setDemonym("French");
+        customer.setDisable(false);
+        return customer;
+    }
+}
@@ -0,0 +1,77 @@
+package api.customer.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de BloomFilter.
+ */
+public class BloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Verifica que nunca hay falsos negativos aunque varios hilos añadan valores a la vez.
+     */
+    @Test
+    public void testNoFalseNegativesWithConcurrentInserts() throws Exception {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = thread; i < INSERTIONS; i += 8) {
+                        filter.put("user" + i + "@example.com");
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "False negative for " + i);
+        }
+    }
+
+    /**
+     * Verifica que la tasa de falsos positivos medida se mantiene cerca de la configurada
+     * y que la estimación esperada la refleja.
+     */
+    @Test
+    public void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("809" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("829" + i)) {
+                falsePositives++;
+                filter.recordFalsePositive();
+            }
+        }
+
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < FALSE_POSITIVE_RATE * 2, "Observed false positive rate: " + observed);
+        assertEquals(observed, filter.observedFalsePositiveRate(), 1e-9);
+        assertEquals(FALSE_POSITIVE_RATE, filter.expectedFalsePositiveRate(), FALSE_POSITIVE_RATE / 2);
+        assertTrue(filter.memoryBytes() > 0);
+    }
+}
@@ -0,0 +1,95 @@
+package api.customer.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de ExpiringCache.
+ */
+public class ExpiringCacheTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * Verifica que una carga que termina después de una invalidación no guarda su valor,
+     * que puede ser anterior a la escritura que provocó la invalidación.
+     */
+    @Test
+    public void testInvalidateDuringLoadDiscardsLoadedValue() throws Exception {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(10, TTL, TTL, 0, Runnable::run);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> load = executor.submit(() -> cache.get(1, key -> {
+                loading.countDown();
+                invalidated.await();
+                return "before";
+            }));
+            loading.await();
+            cache.invalidate(1);
+            invalidated.countDown();
+
+            assertEquals("before", load.get(5, TimeUnit.SECONDS));
+            assertNull(cache.getIfPresent(1));
+            assertEquals("after", cache.get(1, key -> "after"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifica que un valor escrito durante una carga no se sobrescribe con el resultado de la carga.
+     */
+    @Test
+    public void testPutDuringLoadIsKept() throws Exception {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(10, TTL, TTL, 0, Runnable::run);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> load = cache.getAsync(1, key -> pending);
+        cache.put(1, "written");
+        pending.complete("loaded");
+
+        assertEquals("loaded", load.get(5, TimeUnit.SECONDS));
+        assertEquals("written", cache.getIfPresent(1));
+    }
+
+    /**
+     * Verifica que las claves que no devuelve la carga conjunta se guardan como entradas negativas
+     * y no se vuelven a cargar, y que una carga fallida no deja nada en la caché.
+     */
+    @Test
+    public void testGetAllStoresNegativeEntriesAndSkipsFailedLoads() throws Exception {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(10, TTL, TTL, 0, Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+
+        Map<Integer, String> found = cache.getAll(List.of(1, 2), keys -> {
+            loads.incrementAndGet();
+            return Map.of(1, "one");
+        });
+        assertEquals(Map.of(1, "one"), found);
+        assertEquals(Map.of(1, "one"), cache.getAll(List.of(1, 2), keys -> {
+            loads.incrementAndGet();
+            return Map.of();
+        }));
+        assertEquals(1, loads.get());
+
+        assertThrows(IllegalStateException.class, () -> cache.get(3, key -> {
+            throw new IllegalStateException("unavailable");
+        }));
+        assertEquals(2, cache.size());
+    }
+}
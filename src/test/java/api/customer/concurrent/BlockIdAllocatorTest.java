@@ -0,0 +1,138 @@
+package api.customer.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de BlockIdAllocator con una fuente de bloques en memoria que simula
+ * la tabla de secuencia.
+ */
+public class BlockIdAllocatorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 5_000;
+    private static final int BLOCK_SIZE = 50;
+
+    /**
+     * Fuente en memoria que reserva bloques de forma atómica, como la tabla de secuencia,
+     * con una pausa para favorecer que varios hilos agoten el bloque a la vez.
+     */
+    private static final class SequenceSource implements BlockIdAllocator.BlockSource {
+        final AtomicLong nextValue = new AtomicLong(1);
+        final AtomicInteger reservations = new AtomicInteger();
+
+        @Override
+        public long reserve(int size) throws Exception {
+            reservations.incrementAndGet();
+            Thread.sleep(1);
+            return nextValue.getAndAdd(size);
+        }
+    }
+
+    /**
+     * Verifica que los identificadores son únicos con muchos hilos pidiendo a la vez,
+     * y que solo se consulta la fuente una vez por bloque.
+     */
+    @Test
+    public void testIdsAreUniqueUnderContention() throws Exception {
+        SequenceSource source = new SequenceSource();
+        BlockIdAllocator allocator = new BlockIdAllocator(BLOCK_SIZE, source);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < IDS_PER_THREAD; i++) {
+                assertTrue(ids.add(allocator.nextId()), "Duplicate ID");
+            }
+        });
+
+        int total = THREADS * IDS_PER_THREAD;
+        assertEquals(total, ids.size());
+        assertEquals(total / BLOCK_SIZE, source.reservations.get());
+    }
+
+    /**
+     * Verifica que dos instancias que comparten la fuente, como dos réplicas de la
+     * aplicación con la misma base de datos, nunca entregan el mismo identificador,
+     * incluidos los rangos pedidos para cargas masivas.
+     */
+    @Test
+    public void testAllocatorsSharingSourceNeverOverlap() throws Exception {
+        SequenceSource source = new SequenceSource();
+        BlockIdAllocator first = new BlockIdAllocator(BLOCK_SIZE, source);
+        BlockIdAllocator second = new BlockIdAllocator(BLOCK_SIZE, source);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger turn = new AtomicInteger();
+
+        runConcurrently(() -> {
+            BlockIdAllocator allocator = turn.getAndIncrement() % 2 == 0 ? first : second;
+            for (int i = 0; i < IDS_PER_THREAD / 10; i++) {
+                int count = i % 3 == 0 ? 7 : (i % 50 == 0 ? BLOCK_SIZE * 2 : 1);
+                long start = allocator.nextIds(count);
+                for (long id = start; id < start + count; id++) {
+                    assertTrue(ids.add(id), "Duplicate ID " + id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Verifica que un fallo de la fuente se propaga y que el siguiente intento reserva de nuevo.
+     */
+    @Test
+    public void testSourceFailureIsRetried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BlockIdAllocator allocator = new BlockIdAllocator(BLOCK_SIZE, size -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return 100;
+        });
+
+        assertThrows(IllegalStateException.class, allocator::nextId);
+        assertEquals(100, allocator.nextId());
+        assertEquals(101, allocator.nextId());
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    /**
+     * Ejecuta la tarea en todos los hilos a la vez y propaga el primer fallo.
+     */
+    private static void runConcurrently(Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package api.customer.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Pruebas de Deadline con pasos en memoria que no emiten nunca o fallan.
+ */
+public class DeadlineTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Verifica que un paso que no emite falla al agotarse el tiempo que quedaba del plazo.
+     */
+    @Test
+    public void testBoundStepFailsWhenDeadlineExpires() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(50));
+
+        String result = deadline.bound(Uni.createFrom().<String>nothing())
+            .onFailure(TimeoutException.class).recoverWithItem("timed out")
+            .await().atMost(TIMEOUT);
+
+        assertEquals("timed out", result);
+        assertTrue(deadline.isExpired());
+    }
+
+    /**
+     * Verifica que con el plazo expirado un paso ni siquiera se inicia.
+     */
+    @Test
+    public void testExpiredDeadlineDoesNotStartStep() {
+        Deadline deadline = Deadline.after(Duration.ZERO);
+        AtomicBoolean started = new AtomicBoolean();
+
+        Throwable failure = deadline.ifRemaining(() -> {
+                started.set(true);
+                return Uni.createFrom().item("written");
+            })
+            .onItem().transform(item -> (Throwable) null)
+            .onFailure().recoverWithItem(e -> e)
+            .await().atMost(TIMEOUT);
+
+        assertInstanceOf(TimeoutException.class, failure);
+        assertFalse(started.get());
+    }
+
+    /**
+     * Verifica que, al combinar pasos concurrentes, el primer fallo cancela los demás.
+     */
+    @Test
+    public void testFirstFailureCancelsOtherBranches() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(30));
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Uni<String> failing = deadline.bound(Uni.createFrom().failure(new IllegalStateException("Database unavailable")));
+        Uni<String> pending = deadline.bound(Uni.createFrom().<String>nothing()
+            .onCancellation().invoke(() -> cancelled.set(true)));
+
+        Throwable failure = Uni.combine().all().unis(pending, failing).asTuple()
+            .onItem().transform(items -> (Throwable) null)
+            .onFailure().recoverWithItem(e -> e)
+            .await().atMost(TIMEOUT);
+
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertTrue(cancelled.get());
+    }
+
+    /**
+     * Verifica que el plazo solo es el actual mientras se ejecuta el trabajo, y que el tiempo
+     * restante para `setQueryTimeout` se redondea hacia arriba sin llegar nunca a `0`.
+     */
+    @Test
+    public void testRunWithinSetsCurrentDeadline() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(1500));
+
+        assertNull(Deadline.current());
+        assertEquals(deadline, deadline.runWithin(Deadline::current));
+        assertNull(Deadline.current());
+        assertEquals(2, deadline.remainingSeconds());
+        assertEquals(1, Deadline.after(Duration.ZERO).remainingSeconds());
+    }
+}
@@ -0,0 +1,138 @@
+package api.customer.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de MicroBatcher con un cargador en memoria que cuenta las cargas por lotes.
+ */
+public class MicroBatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Verifica que las claves pedidas dentro de la ventana se cargan en un solo lote y que
+     * cada petición recibe su valor, o `null` si la clave no existe.
+     */
+    @Test
+    public void testKeysWithinWindowShareOneBatch() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(100, TimeUnit.MILLISECONDS.toNanos(50), keys -> {
+            loads.incrementAndGet();
+            Map<Integer, String> values = new HashMap<>();
+            for (Integer key : keys) {
+                if (key % 2 == 0) {
+                    values.put(key, "customer-" + key);
+                }
+            }
+            return values;
+        }, executor);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int key = 0; key < 10; key++) {
+            results.add(batcher.load(key));
+        }
+        results.add(batcher.load(4));
+
+        for (int key = 0; key < 10; key++) {
+            String value = results.get(key).get(1, TimeUnit.SECONDS);
+            if (key % 2 == 0) {
+                assertEquals("customer-" + key, value);
+            } else {
+                assertNull(value);
+            }
+        }
+        assertEquals("customer-4", results.get(10).get(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(10, batcher.keyCount());
+    }
+
+    /**
+     * Verifica que un lote se envía en cuanto alcanza el tamaño máximo, sin esperar la ventana.
+     */
+    @Test
+    public void testFullBatchIsSentImmediately() throws Exception {
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(3, TimeUnit.SECONDS.toNanos(30), keys -> {
+            Map<Integer, Integer> values = new HashMap<>();
+            for (Integer key : keys) {
+                values.put(key, key * 10);
+            }
+            return values;
+        }, executor);
+
+        CompletableFuture<Integer> first = batcher.load(1);
+        batcher.load(2);
+        batcher.load(3);
+
+        assertEquals(10, first.get(1, TimeUnit.SECONDS));
+        assertEquals(1, batcher.batchCount());
+    }
+
+    /**
+     * Verifica que un fallo del cargador llega a todas las peticiones del lote.
+     */
+    @Test
+    public void testLoaderFailureFailsWholeBatch() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(10, TimeUnit.MILLISECONDS.toNanos(5), keys -> {
+            throw new IllegalStateException("Database unavailable");
+        }, executor);
+
+        CompletableFuture<String> first = batcher.load(1);
+        CompletableFuture<String> second = batcher.load(2);
+
+        for (CompletableFuture<String> result : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertTrue(batcher.batchCount() <= 1);
+    }
+
+    /**
+     * Verifica que el lote se carga con el plazo más próximo de quienes pidieron sus claves
+     * como plazo actual del hilo, aunque otra petición del lote no tenga plazo.
+     */
+    @Test
+    public void testBatchLoadsWithinTightestDeadline() throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(10, TimeUnit.MILLISECONDS.toNanos(50), keys -> {
+            seen.set(Deadline.current());
+            return Map.of();
+        }, executor);
+        Deadline loose = Deadline.after(Duration.ofMinutes(1));
+        Deadline tight = Deadline.after(Duration.ofSeconds(30));
+
+        List<CompletableFuture<String>> results = List.of(
+            batcher.load(1, loose), batcher.load(2), batcher.load(3, tight), batcher.load(1, loose));
+        for (CompletableFuture<String> result : results) {
+            result.get(1, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, batcher.batchCount());
+        assertSame(tight, seen.get());
+    }
+}
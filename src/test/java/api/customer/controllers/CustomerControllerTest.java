@@ -3,9 +3,24 @@ package api.customer.controllers;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
 import static io.restassured.RestAssured.given;
 
 /**
@@ -15,6 +30,9 @@ import static io.restassured.RestAssured.given;
 @QuarkusTest
 public class CustomerControllerTest {
 
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+    private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+
     /**
      * Prueba el endpoint POST /customers para crear un nuevo cliente.
      * Verifica que el cliente se cree con éxito devolviendo un código de estado 201
@@ -43,6 +61,60 @@ public class CustomerControllerTest {
                 .body(containsString("test.user@example.com"));
     }
 
+    /**
+     * Prueba que crear un cliente con un correo ya registrado devuelva 409
+     * indicando qué dato está en conflicto.
+     */
+    @Test
+    public void testCreateCustomerWithTakenEmail() {
+        given()
+            .contentType("application/json")
+            .body("""
+                {
+                  "firstName": "Taken",
+                  "lastName": "Email",
+                  "email": "jane.smith@example.com",
+                  "address": "Taken Address 1",
+                  "phone": "33199999999",
+                  "country": 250
+                }""")
+            .when().post("/customers")
+            .then()
+                .statusCode(409)
+                .body("error", is("Email already exists"));
+    }
+
+    /**
+     * Prueba el endpoint POST /customers/batch para crear varios clientes.
+     * Verifica que se devuelva un resultado por cliente, en orden, y que los clientes
+     * no válidos o repetidos se rechacen sin impedir la creación de los demás.
+     */
+    @Test
+    public void testCreateCustomersBatch() {
+        given()
+            .contentType("application/json")
+            .body("""
+                [
+                  {"firstName": "Batch", "lastName": "One", "email": "batch.one@example.com",
+                   "address": "Batch Address 1", "phone": "33100000001", "country": 250},
+                  {"firstName": "", "lastName": "Two", "email": "batch.two@example.com",
+                   "address": "Batch Address 2", "phone": "33100000002", "country": 250},
+                  {"firstName": "Batch", "lastName": "Three", "email": "batch.one@example.com",
+                   "address": "Batch Address 3", "phone": "33100000003", "country": 250},
+                  {"firstName": "Batch", "lastName": "Four", "email": "batch.four@example.com",
+                   "address": "Batch Address 4", "phone": "33100000004", "country": 250}
+                ]""")
+            .when().post("/customers/batch")
+            .then()
+                .statusCode(200)
+                .body("$.size()", is(4))
+                .body("[0].status", is("CREATED"))
+                .body("[0].customerId", notNullValue())
+                .body("[1].status", is("INVALID"))
+                .body("[2].status", is("DUPLICATE"))
+                .body("[3].status", is("CREATED"));
+    }
+
     /**
      * Prueba el endpoint GET /customers para obtener todos los clientes.
      * Verifica que el código de estado sea 200 y que la respuesta contenga
@@ -59,6 +131,115 @@ public class CustomerControllerTest {
                 .body("[0].lastName", is("Doe"));
     }
 
+    /**
+     * Prueba la paginación de GET /customers. Verifica que la página respete el límite,
+     * que el cursor de la cabecera continúe después del último cliente devuelto
+     * y que un cursor no válido se rechace.
+     */
+    @Test
+    public void testGetAllCustomersPaginated() {
+        Response first = given()
+            .queryParam("limit", 2)
+            .when().get("/customers");
+        first.then()
+            .statusCode(200)
+            .body("$.size()", is(2))
+            .header("X-Next-Cursor", notNullValue())
+            .header("Link", containsString("rel=\"next\""));
+
+        int lastId = first.path("[1].customerId");
+        given()
+            .queryParam("limit", 2)
+            .queryParam("cursor", first.header("X-Next-Cursor"))
+            .when().get("/customers")
+            .then()
+                .statusCode(200)
+                .body("[0].customerId", greaterThan(lastId));
+
+        given()
+            .queryParam("cursor", "not-a-cursor")
+            .when().get("/customers")
+            .then()
+                .statusCode(400);
+    }
+
+    /**
+     * Prueba el parámetro `fields=` de GET /customers. Verifica que solo se devuelvan los
+     * campos pedidos y que un campo desconocido se rechace.
+     */
+    @Test
+    public void testGetAllCustomersWithFields() {
+        given()
+            .queryParam("limit", 2)
+            .queryParam("fields", "customerId,firstName")
+            .when().get("/customers")
+            .then()
+                .statusCode(200)
+                .body("[0].customerId", notNullValue())
+                .body("[0].firstName", notNullValue())
+                .body("[0].containsKey('address')", is(false))
+                .body("[0].containsKey('email')", is(false));
+
+        given()
+            .queryParam("fields", "password")
+            .when().get("/customers")
+            .then()
+                .statusCode(400);
+    }
+
+    /**
+     * Prueba GET /customers?ids=. Verifica que los resultados respeten el orden pedido,
+     * incluidos los repetidos, y que los identificadores inexistentes se marquen como `NOT_FOUND`.
+     */
+    @Test
+    public void testGetCustomersByIds() {
+        given()
+            .queryParam("ids", "10,999999,10")
+            .when().get("/customers")
+            .then()
+                .statusCode(200)
+                .body("$.size()", is(3))
+                .body("[0].status", is("FOUND"))
+                .body("[0].customer.firstName", is("Emma"))
+                .body("[1].customerId", is(999999))
+                .body("[1].status", is("NOT_FOUND"))
+                .body("[2].customer.customerId", is(10));
+
+        given()
+            .queryParam("ids", "1,abc")
+            .when().get("/customers")
+            .then()
+                .statusCode(400);
+    }
+
+    /**
+     * Prueba el endpoint GET /customers/export en sus dos formatos: un cliente JSON por
+     * línea (NDJSON) y un único array JSON.
+     */
+    @Test
+    public void testExportCustomers() {
+        given()
+            .when().get("/customers/export")
+            .then()
+                .statusCode(200)
+                .contentType(containsString("application/x-ndjson"))
+                .body(startsWith("{"))
+                .body(containsString("}\n{"));
+
+        given()
+            .queryParam("format", "json")
+            .when().get("/customers/export")
+            .then()
+                .statusCode(200)
+                .body("$.size()", greaterThan(0));
+
+        given()
+            .queryParam("format", "xml")
+            .when().get("/customers/export")
+            .then()
+                .statusCode(400);
+    }
+
     /**
      * Prueba el endpoint GET /customers/{id} para obtener un cliente por su ID.
      * Verifica que el código de estado sea 200 y que los datos del cliente coincidan.
@@ -90,6 +271,141 @@ public class CustomerControllerTest {
                 .body("[0].demonym", is("American"));
     }
 
+    /**
+     * Prueba la lectura condicional de GET /customers/{id}.
+     * Verifica que la respuesta lleve una etiqueta `ETag` y que, al repetir la petición con
+     * esa etiqueta en `If-None-Match`, se responda 304 sin cuerpo.
+     */
+    @Test
+    public void testGetCustomerByIdNotModified() {
+        String etag = given()
+            .when().get("/customers/3")
+            .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Last-Modified", notNullValue())
+                .extract().header("ETag");
+
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/customers/3")
+            .then()
+                .statusCode(304)
+                .header("ETag", is(etag))
+                .header("Vary", containsString("Accept"));
+    }
+
+    /**
+     * Prueba la negociación de contenido de GET /customers/{id}.
+     * Verifica que, al pedir CBOR en `Accept`, la respuesta se envíe en ese formato y se
+     * decodifique como el cliente pedido.
+     */
+    @Test
+    public void testGetCustomerByIdAsCbor() throws Exception {
+        byte[] body = given()
+            .accept("application/cbor")
+            .when().get("/customers/3")
+            .then()
+                .statusCode(200)
+                .contentType("application/cbor")
+                .header("Content-Encoding", nullValue())
+                .extract().asByteArray();
+
+        JsonNode customer = CBOR.readTree(body);
+        assertEquals(3, customer.get("customerId").asInt());
+        assertEquals("carlos.martinez@example.com", customer.get("email").asText());
+    }
+
+    /**
+     * Prueba la negociación de contenido de GET /customers/{id} con Smile.
+     */
+    @Test
+    public void testGetCustomerByIdAsSmile() throws Exception {
+        byte[] body = given()
+            .accept("application/x-jackson-smile")
+            .when().get("/customers/3")
+            .then()
+                .statusCode(200)
+                .contentType("application/x-jackson-smile")
+                .extract().asByteArray();
+
+        JsonNode customer = SMILE.readTree(body);
+        assertEquals(3, customer.get("customerId").asInt());
+        assertEquals("carlos.martinez@example.com", customer.get("email").asText());
+    }
+
+    /**
+     * Prueba `fields=` junto con CBOR en GET /customers. El cuerpo ya serializado con los campos
+     * pedidos se envía tal cual: debe decodificarse como una lista de clientes, no como una
+     * cadena de bytes CBOR que envuelva la lista.
+     */
+    @Test
+    public void testGetAllCustomersWithFieldsAsCbor() throws Exception {
+        byte[] body = given()
+            .accept("application/cbor")
+            .queryParam("limit", 2)
+            .queryParam("fields", "customerId,email")
+            .when().get("/customers")
+            .then()
+                .statusCode(200)
+                .contentType("application/cbor")
+                .extract().asByteArray();
+
+        JsonNode customers = CBOR.readTree(body);
+        assertTrue(customers.isArray());
+        assertEquals(2, customers.size());
+        assertTrue(customers.get(0).get("customerId").asInt() > 0);
+        assertTrue(customers.get(0).hasNonNull("email"));
+        assertFalse(customers.get(0).has("address"));
+    }
+
+    /**
+     * Prueba POST /customers con el cuerpo en CBOR y la respuesta en JSON.
+     */
+    @Test
+    public void testCreateCustomerFromCbor() throws Exception {
+        byte[] body = CBOR.writeValueAsBytes(Map.of(
+            "firstName", "Cbor",
+            "lastName", "Body",
+            "email", "cbor.body@example.com",
+            "address", "Cbor Address 1",
+            "phone", "+33655443322",
+            "country", 250));
+
+        given()
+            .contentType("application/cbor")
+            .accept("application/json")
+            .body(body)
+            .when().post("/customers")
+            .then()
+                .statusCode(201)
+                .body("email", is("cbor.body@example.com"))
+                .body("demonym", is("French"));
+    }
+
+    /**
+     * Prueba que los listados marcados con `@Compressed` se compriman cuando el cliente lo
+     * acepta, y que las respuestas de un solo cliente nunca se compriman.
+     */
+    @Test
+    public void testListCompressedAndSingleCustomerNot() {
+        given()
+            .header("Accept-Encoding", "gzip")
+            .queryParam("limit", 500)
+            .when().get("/customers")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", is("gzip"))
+                .body("$.size()", greaterThan(0));
+
+        given()
+            .header("Accept-Encoding", "gzip")
+            .when().get("/customers/3")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue());
+    }
+
     /**
      * Prueba el endpoint PUT /customers/{id} para actualizar un cliente existente.
      * Verifica que el cliente se actualice con éxito y los cambios se reflejen
@@ -119,6 +435,100 @@ public class CustomerControllerTest {
                 .body("country", is(840));
     }
 
+    /**
+     * Prueba el endpoint PATCH /customers/{id} para modificar un solo campo.
+     * Verifica que la respuesta ya contenga el cliente guardado, con el campo nuevo
+     * y los demás sin cambios.
+     */
+    @Test
+    public void testPatchCustomer() {
+        given()
+            .contentType("application/json")
+            .body("{\"address\": \"Patched Address\"}")
+            .when().patch("/customers/2")
+            .then()
+                .statusCode(200)
+                .body("customerId", is(2))
+                .body("address", is("Patched Address"))
+                .body("email", is("jane.smith@example.com"))
+                .body("demonym", is("American"));
+    }
+
+    /**
+     * Prueba que modificar un cliente inexistente devuelva 404.
+     */
+    @Test
+    public void testPatchMissingCustomer() {
+        given()
+            .contentType("application/json")
+            .body("{\"address\": \"Nowhere\"}")
+            .when().patch("/customers/999999")
+            .then()
+                .statusCode(404);
+    }
+
+    /**
+     * Prueba que una modificación sin ningún campo devuelva 400.
+     */
+    @Test
+    public void testPatchCustomerWithEmptyBody() {
+        given()
+            .contentType("application/json")
+            .body("{}")
+            .when().patch("/customers/2")
+            .then()
+                .statusCode(400);
+    }
+
+    /**
+     * Prueba que cambiar el país de un cliente junto con su teléfono resuelva de nuevo
+     * el gentilicio del país nuevo.
+     */
+    @Test
+    public void testPatchCustomerCountry() {
+        int customerId = given()
+            .contentType("application/json")
+            .body("""
+                {
+                  "firstName": "Patch",
+                  "lastName": "Country",
+                  "email": "patch.country@example.com",
+                  "address": "Patch Address 1",
+                  "phone": "+12025550143",
+                  "country": 840
+                }""")
+            .when().post("/customers")
+            .then()
+                .statusCode(201)
+                .body("demonym", is("American"))
+                .extract().path("customerId");
+
+        given()
+            .contentType("application/json")
+            .body("{\"country\": 250, \"phone\": \"+33612345678\"}")
+            .when().patch("/customers/" + customerId)
+            .then()
+                .statusCode(200)
+                .body("country", is(250))
+                .body("phone", is("+33612345678"))
+                .body("demonym", is("French"))
+                .body("address", is("Patch Address 1"));
+    }
+
+    /**
+     * Prueba que modificar el correo de un cliente por uno que ya pertenece a otro devuelva 409.
+     */
+    @Test
+    public void testPatchCustomerWithTakenEmail() {
+        given()
+            .contentType("application/json")
+            .body("{\"email\": \"jane.smith@example.com\"}")
+            .when().patch("/customers/3")
+            .then()
+                .statusCode(409)
+                .body(containsString("Email already exists"));
+    }
+
     /**
      * Prueba el endpoint DELETE /customers/{id} para eliminar un cliente existente.
      * Verifica que el cliente se elimine con éxito y no esté disponible al intentar
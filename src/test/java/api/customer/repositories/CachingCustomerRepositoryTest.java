@@ -0,0 +1,124 @@
+package api.customer.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import api.customer.interfaces.ICustomerRepository;
+import api.customer.models.Customer;
+import api.customer.models.WriteStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Pruebas de integración de CachingCustomerRepository a través del repositorio decorado,
+ * contra la base de datos MySQL local de las pruebas.
+ */
+@QuarkusTest
+public class CachingCustomerRepositoryTest {
+
+    @Inject
+    ICustomerRepository repository;
+
+    @Inject
+    MeterRegistry registry;
+
+    /**
+     * Verifica que una actualización invalida la entrada y la siguiente lectura ve los datos nuevos.
+     */
+    @Test
+    public void testUpdateInvalidatesEntry() {
+        Customer customer = create();
+        int customerId = customer.getCustomerId();
+        assertEquals("Cached Address 1", repository.findById(customerId).getAddress());
+
+        double hits = hits();
+        assertEquals("Cached Address 1", repository.findById(customerId).getAddress());
+        assertEquals(hits + 1, hits());
+
+        WriteStatus status = repository.updateCustomer(customerId, customer.getEmail(), "Cached Address 2",
+            customer.getPhone(), (short) 250, "French");
+        assertEquals(WriteStatus.SUCCESS, status);
+        assertEquals("Cached Address 2", repository.findById(customerId).getAddress());
+    }
+
+    /**
+     * Verifica que tras eliminar un cliente su entrada queda como negativa: la lectura
+     * siguiente devuelve `null` desde la caché sin consultar la base de datos.
+     */
+    @Test
+    public void testDeleteStoresNegativeEntry() {
+        int customerId = create().getCustomerId();
+        assertNotNull(repository.findById(customerId));
+
+        assertTrue(repository.deleteCustomer(customerId));
+        double hits = hits();
+        assertNull(repository.findById(customerId));
+        assertEquals(hits + 1, hits());
+    }
+
+    /**
+     * Verifica que una lectura fallida se propaga sin repetir la consulta y no se guarda como
+     * entrada negativa: la siguiente lectura vuelve a consultar y encuentra el cliente.
+     */
+    @Test
+    public void testFailedLoadIsNotCached() {
+        ICustomerRepository database = Mockito.mock(ICustomerRepository.class);
+        Customer customer = new Customer();
+        customer.setCustomerId(42);
+        Mockito.when(database.findById(42))
+            .thenThrow(new RuntimeException("Database unavailable"))
+            .thenReturn(customer);
+        CachingCustomerRepository caching = Mockito.mock(CachingCustomerRepository.class,
+            Mockito.withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+        caching.delegate = database;
+        caching.registry = new SimpleMeterRegistry();
+        caching.enabled = true;
+        caching.maximumSize = 10;
+        caching.ttl = Duration.ofMinutes(5);
+        caching.negativeTtl = Duration.ofSeconds(30);
+        caching.init();
+
+        assertThrows(RuntimeException.class, () -> caching.findById(42));
+        Mockito.verify(database, Mockito.times(1)).findById(42);
+
+        assertSame(customer, caching.findById(42));
+        assertSame(customer, caching.findById(42));
+        Mockito.verify(database, Mockito.times(2)).findById(42);
+    }
+
+    private Customer create() {
+        int customerId = repository.generateCustomerId();
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setFirstName("Cached");
+        customer.setLastName("Repository");
+        customer.setEmail("cached." + customerId + "@example.com");
+        customer.setAddress("Cached Address 1");
+        customer.setPhone(String.format("33%09d", customerId));
+        customer.setCountry((short) 250);
+        customer.setDemonym("French");
+        customer.setDisable(false);
+        assertEquals(WriteStatus.SUCCESS, repository.createCustomer(customer));
+        return customer;
+    }
+
+    private double hits() {
+        FunctionCounter counter = registry.find("cache.gets")
+            .tags("cache", "customer", "result", "hit")
+            .functionCounter();
+        assertNotNull(counter);
+        return counter.count();
+    }
+}
@@ -0,0 +1,73 @@
+package api.customer.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import api.customer.interfaces.ICustomerRepository;
+import api.customer.models.Customer;
+import api.customer.models.WriteStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+
+/**
+ * Pruebas de CachingCustomerRepository con `customers.cache.enabled=false`: todas las
+ * operaciones van directamente al repositorio.
+ */
+@QuarkusTest
+@TestProfile(UncachedCustomerRepositoryTest.CacheDisabled.class)
+public class UncachedCustomerRepositoryTest {
+
+    /**
+     * Desactiva la caché de clientes.
+     */
+    public static class CacheDisabled implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("customers.cache.enabled", "false");
+        }
+    }
+
+    @Inject
+    ICustomerRepository repository;
+
+    @Inject
+    MeterRegistry registry;
+
+    /**
+     * Verifica que no se registran métricas de la caché y que las lecturas y escrituras
+     * siguen funcionando sin ella.
+     */
+    @Test
+    public void testReadsAndWritesBypassCache() {
+        assertNull(registry.find("cache.gets").tag("cache", "customer").functionCounter());
+
+        int customerId = repository.generateCustomerId();
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setFirstName("Uncached");
+        customer.setLastName("Repository");
+        customer.setEmail("uncached." + customerId + "@example.com");
+        customer.setAddress("Uncached Address 1");
+        customer.setPhone(String.format("35%09d", customerId));
+        customer.setCountry((short) 250);
+        customer.setDemonym("French");
+        customer.setDisable(false);
+        assertEquals(WriteStatus.SUCCESS, repository.createCustomer(customer));
+        assertEquals("Uncached Address 1", repository.findById(customerId).getAddress());
+
+        assertEquals(WriteStatus.SUCCESS, repository.updateCustomer(customerId, customer.getEmail(),
+            "Uncached Address 2", customer.getPhone(), (short) 250, "French"));
+        assertEquals("Uncached Address 2", repository.findById(customerId).getAddress());
+
+        assertTrue(repository.deleteCustomer(customerId));
+        assertNull(repository.findById(customerId));
+    }
+}
@@ -0,0 +1,189 @@
+package api.customer.services;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import api.customer.models.Customer;
+import api.customer.models.CustomerChangedEvent;
+import api.customer.models.CustomerField;
+import api.customer.models.CustomerPage;
+import api.customer.models.PayloadFormat;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+/**
+ * Pruebas de CountryListingCache: invalidación por `CustomerChangedEvent`, clave con la
+ * generación del país y copia comprimida de las páginas.
+ */
+@QuarkusTest
+public class CountryListingCacheTest {
+
+    private static final short COUNTRY = 999; // País sin clientes reales, solo para el cargador de prueba
+
+    @Inject
+    CountryListingCache cache;
+
+    @Inject
+    Event<CustomerChangedEvent> changes;
+
+    /**
+     * Verifica que una página en caché se sirve sin volver a cargarla, que un evento de otro
+     * país no la invalida y que uno de su país hace que la siguiente lectura la cargue de nuevo.
+     */
+    @Test
+    public void testEventAdvancesGeneration() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CustomerPage page = page(3);
+
+        CountryListingCache.EncodedPage first = cache.get(COUNTRY, null, 3, CustomerField.ALL, PayloadFormat.JSON,
+            () -> { loads.incrementAndGet(); return page; });
+        assertSame(first, cache.get(COUNTRY, null, 3, CustomerField.ALL, PayloadFormat.JSON,
+            () -> { loads.incrementAndGet(); return page; }));
+        assertEquals(1, loads.get());
+
+        changes.fire(new CustomerChangedEvent(Set.of((short) (COUNTRY - 1))));
+        assertSame(first, cache.getIfPresent(COUNTRY, null, 3, CustomerField.ALL, PayloadFormat.JSON));
+
+        changes.fire(new CustomerChangedEvent(Set.of(COUNTRY)));
+        assertNull(cache.getIfPresent(COUNTRY, null, 3, CustomerField.ALL, PayloadFormat.JSON));
+        cache.get(COUNTRY, null, 3, CustomerField.ALL, PayloadFormat.JSON,
+            () -> { loads.incrementAndGet(); return page; });
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Verifica que una consulta fallida se propaga y no deja la página en la caché: la lectura
+     * siguiente vuelve a consultar en lugar de servir un listado vacío.
+     */
+    @Test
+    public void testFailedLoadIsNotCached() throws Exception {
+        assertThrows(IllegalStateException.class, () -> cache.get(COUNTRY, null, 7, CustomerField.ALL,
+            PayloadFormat.JSON, () -> {
+                throw new IllegalStateException("Database unavailable");
+            }));
+        assertNull(cache.getIfPresent(COUNTRY, null, 7, CustomerField.ALL, PayloadFormat.JSON));
+
+        CountryListingCache.EncodedPage page = cache.get(COUNTRY, null, 7, CustomerField.ALL, PayloadFormat.JSON,
+            () -> page(2));
+        assertFalse(page.isEmpty());
+    }
+
+    /**
+     * Verifica que solo las páginas grandes guardan una copia gzip, y que al descomprimirla
+     * se obtiene el mismo cuerpo que la copia sin comprimir.
+     */
+    @Test
+    public void testGzipCopyMatchesIdentityBody() throws Exception {
+        CountryListingCache.EncodedPage small = cache.get(COUNTRY, null, 1, CustomerField.ALL, PayloadFormat.JSON,
+            () -> page(1));
+        assertNull(small.getGzipBody());
+
+        CountryListingCache.EncodedPage large = cache.get(COUNTRY, null, 50, CustomerField.ALL, PayloadFormat.JSON,
+            () -> page(50));
+        assertNotNull(large.getGzipBody());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.getGzipBody()))) {
+            assertArrayEquals(large.getBody(), in.readAllBytes());
+        }
+    }
+
+    /**
+     * Verifica de principio a fin que crear un cliente invalida la página en caché de su país:
+     * la siguiente lectura lo incluye y lleva otra etiqueta, y la etiqueta anterior ya no
+     * produce un 304.
+     */
+    @Test
+    public void testWriteInvalidatesCachedListing() {
+        String before = given()
+            .when().get("/customers/country/250?limit=500")
+            .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        given()
+            .header("If-None-Match", before)
+            .when().get("/customers/country/250?limit=500")
+            .then()
+                .statusCode(304);
+
+        given()
+            .contentType("application/json")
+            .body("""
+                {
+                  "firstName": "Listing",
+                  "lastName": "Cache",
+                  "email": "listing.cache@example.com",
+                  "address": "Listing Address 1",
+                  "phone": "+33611223344",
+                  "country": 250
+                }""")
+            .when().post("/customers")
+            .then()
+                .statusCode(201);
+
+        given()
+            .header("If-None-Match", before)
+            .when().get("/customers/country/250?limit=500")
+            .then()
+                .statusCode(200)
+                .header("ETag", not(before))
+                .body(containsString("listing.cache@example.com"));
+    }
+
+    /**
+     * Verifica que la misma página se sirve igual pidiéndola comprimida o sin comprimir, y que
+     * sin `Accept-Encoding` la respuesta no lleva `Content-Encoding`.
+     */
+    @Test
+    public void testListingWithAndWithoutGzip() {
+        String identity = given()
+            .header("Accept-Encoding", "identity")
+            .when().get("/customers/country/840")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .extract().asString();
+
+        given()
+            .header("Accept-Encoding", "gzip")
+            .when().get("/customers/country/840")
+            .then()
+                .statusCode(200)
+                .body(is(identity));
+    }
+
+    private static CustomerPage page(int size) {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            Customer customer = new Customer();
+            customer.setCustomerId(i);
+            customer.setFirstName("Listing");
+            customer.setLastName("Customer " + i);
+            customer.setEmail("listing." + i + "@example.com");
+            customer.setAddress("Listing Address " + i);
+            customer.setPhone("+99900000" + i);
+            customer.setCountry(COUNTRY);
+            customer.setVersion(1L);
+            customers.add(customer);
+        }
+        return new CustomerPage(customers, null);
+    }
+}
@@ -0,0 +1,105 @@
+package api.customer.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import api.customer.interfaces.ICountryService;
+import api.customer.models.CountryProfile;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Pruebas del cliente HTTP usado por CountryService.
+ * Se ejecutan contra `RestCountriesStub` y usan un código de país distinto en cada
+ * consulta para que la caché no evite las llamadas remotas.
+ */
+@QuarkusTest
+@QuarkusTestResource(value = RestCountriesStub.class, restrictToAnnotatedClass = true)
+public class CountryServiceTest {
+
+    @Inject
+    ICountryService countryService;
+
+    @BeforeEach
+    public void resetStub() {
+        RestCountriesStub.reset();
+    }
+
+    /**
+     * Verifica que consultas consecutivas reutilizan las conexiones persistentes del pool
+     * en lugar de abrir una conexión por consulta.
+     */
+    @Test
+    public void testSequentialLookupsReuseConnection() {
+        for (int code = 100; code < 130; code++) {
+            CountryProfile profile = countryService.getCountryProfile(Integer.toString(code));
+            assertTrue(profile.isValid());
+            assertEquals("Testian", profile.getDemonym());
+        }
+
+        assertEquals(30, RestCountriesStub.requestCount());
+        assertTrue(RestCountriesStub.connectionCount() <= RestCountriesStub.POOL_SIZE,
+            "Connections opened: " + RestCountriesStub.connectionCount());
+    }
+
+    /**
+     * Verifica que las consultas concurrentes nunca abren más conexiones
+     * que el tamaño del pool configurado.
+     */
+    @Test
+    public void testConcurrentLookupsStayWithinPool() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<CountryProfile>> results = new ArrayList<>();
+            for (int code = 200; code < 264; code++) {
+                String countryCode = Integer.toString(code);
+                results.add(executor.submit(() -> countryService.getCountryProfile(countryCode)));
+            }
+            for (Future<CountryProfile> result : results) {
+                assertTrue(result.get().isValid());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(64, RestCountriesStub.requestCount());
+        assertTrue(RestCountriesStub.connectionCount() <= RestCountriesStub.POOL_SIZE,
+            "Connections opened: " + RestCountriesStub.connectionCount());
+    }
+
+    /**
+     * Verifica que un código inexistente devuelve un perfil no válido, pero disponible.
+     */
+    @Test
+    public void testUnknownCountryIsInvalid() {
+        CountryProfile profile = countryService.getCountryProfile(RestCountriesStub.NOT_FOUND_CODE);
+        assertFalse(profile.isValid());
+        assertTrue(profile.isAvailable());
+    }
+
+    /**
+     * Verifica que una respuesta lenta se abandona al alcanzar el tiempo máximo de la consulta
+     * y que el país queda como no disponible, no como inexistente.
+     */
+    @Test
+    public void testSlowUpstreamIsCutOffAtDeadline() {
+        long start = System.nanoTime();
+        CountryProfile profile = countryService.getCountryProfile(RestCountriesStub.SLOW_CODE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(profile.isValid());
+        assertFalse(profile.isAvailable());
+        assertTrue(elapsedMillis < RestCountriesStub.SLOW_DELAY_MS, "Elapsed: " + elapsedMillis + " ms");
+    }
+}
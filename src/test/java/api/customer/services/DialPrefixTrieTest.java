@@ -0,0 +1,40 @@
+package api.customer.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import api.customer.models.CountryProfile;
+
+/**
+ * Pruebas de DialPrefixTrie.
+ */
+public class DialPrefixTrieTest {
+
+    private static final CountryProfile MEXICO = new CountryProfile("484", "+5", List.of("2"), "Mexican");
+    private static final CountryProfile DOMINICAN_REPUBLIC =
+        new CountryProfile("214", "+1", List.of("809", "829", "849"), "Dominican");
+
+    /**
+     * Verifica que el árbol y `CountryProfile.matchesPhone`, usado mientras el índice no está
+     * construido, dan el mismo resultado para los mismos teléfonos, con separadores y en
+     * formato nacional o internacional.
+     */
+    @Test
+    public void testTrieAndFallbackAgree() {
+        DialPrefixTrie trie = DialPrefixTrie.build(List.of(MEXICO, DOMINICAN_REPUBLIC));
+        List<String> phones = List.of("2 55 1234 5678", "+52 55 1234 5678", "52-55-1234-5678",
+            " +52 (55) 1234-5678", "+1 809 555 1234", "(809) 555-1234", "809-555-1234",
+            "+1-849-555-1234", "+1 212 555 1234", "212 555 1234", "", " - ");
+
+        for (CountryProfile profile : List.of(MEXICO, DOMINICAN_REPUBLIC)) {
+            int country = DialPrefixTrie.numericCode(profile.getCode());
+            for (String phone : phones) {
+                assertEquals(profile.matchesPhone(phone), trie.matches(country, phone),
+                    profile.getCode() + " / \"" + phone + "\"");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package api.customer.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+/**
+ * Servidor HTTP local que simula la API de RestCountries durante las pruebas.
+ * Registra el puerto de origen de cada petición para saber cuántas conexiones
+ * TCP distintas abrió el cliente.
+ * Cualquier código numérico devuelve un país ficticio con prefijo "+1" y sufijo "201",
+ * salvo `NOT_FOUND_CODE`, que responde 404, y `SLOW_CODE`, que tarda `SLOW_DELAY_MS`.
+ */
+public class RestCountriesStub implements QuarkusTestResourceLifecycleManager {
+
+    static final int POOL_SIZE = 4;
+    static final String NOT_FOUND_CODE = "999";
+    static final String SLOW_CODE = "998";
+    static final long SLOW_DELAY_MS = 3000;
+
+    private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to start RestCountries stub", e);
+        }
+        executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.createContext("/alpha/", RestCountriesStub::handle);
+        server.start();
+
+        return Map.of(
+            "quarkus.rest-client.restcountries.url", "http://localhost:" + server.getAddress().getPort(),
+            "quarkus.rest-client.restcountries.connection-pool-size", Integer.toString(POOL_SIZE),
+            "country.fetch.timeout", "1s");
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+
+        String path = exchange.getRequestURI().getPath();
+        String code = path.substring(path.lastIndexOf('/') + 1);
+
+        if (SLOW_CODE.equals(code)) {
+            try {
+                Thread.sleep(SLOW_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int status = NOT_FOUND_CODE.equals(code) ? 404 : 200;
+        String body = status == 404
+            ? "{\"status\":404,\"message\":\"Not Found\"}"
+            : "[{\"ccn3\":\"" + code + "\",\"idd\":{\"root\":\"+1\",\"suffixes\":[\"201\"]},"
+                + "\"demonyms\":{\"eng\":{\"f\":\"Testian\",\"m\":\"Testian\"}}}]";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reinicia los contadores de peticiones y conexiones.
+     */
+    static void reset() {
+        requests.set(0);
+        clientPorts.clear();
+    }
+
+    /**
+     * @return Número de peticiones recibidas desde el último reinicio.
+     */
+    static int requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return Número de conexiones TCP distintas usadas desde el último reinicio.
+     */
+    static int connectionCount() {
+        return clientPorts.size();
+    }
+}
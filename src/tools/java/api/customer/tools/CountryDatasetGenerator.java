@@ -0,0 +1,75 @@
+package api.customer.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import api.customer.clients.RestCountriesGateway;
+import api.customer.models.CountryProfile;
+import api.customer.services.CountryDataset;
+
+/**
+ * Genera el conjunto de datos de países que se incluye en la aplicación.
+ * Está fuera de `src/main/java` para no formar parte de la aplicación: el perfil de Maven
+ * `country-dataset` lo compila y lo ejecuta durante la compilación:
+ *
+ * <pre>
+ * ./mvnw package -Pcountry-dataset -Dcountry.source=embedded
+ * </pre>
+ *
+ * Argumentos: ruta del archivo binario de salida y, opcionalmente, el origen de los datos:
+ * una URL de `/all` de RestCountries o un archivo JSON descargado previamente de esa URL.
+ */
+public final class CountryDatasetGenerator {
+
+    private static final String DEFAULT_SOURCE =
+        "https://restcountries.com/v3.1/all?fields=" + RestCountriesGateway.ALL_FIELDS;
+
+    private CountryDatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: CountryDatasetGenerator <output-file> [source-url-or-json-file]");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        String source = args.length > 1 && !args[1].isBlank() ? args[1] : DEFAULT_SOURCE;
+
+        List<CountryProfile> profiles = RestCountriesGateway.parseAll(readSource(source));
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(output)) {
+            int count = CountryDataset.write(profiles, out);
+            System.out.println("Country dataset: " + count + " countries written to " + output
+                + " (" + Files.size(output) + " bytes)");
+        }
+    }
+
+    /**
+     * Lee el documento JSON de todos los países desde una URL o un archivo local.
+     */
+    private static String readSource(String source) throws IOException, InterruptedException {
+        if (!source.startsWith("http://") && !source.startsWith("https://")) {
+            return Files.readString(Path.of(source));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(source))
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept", "application/json")
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Unexpected status " + response.statusCode() + " from " + source);
+        }
+        return response.body();
+    }
+}